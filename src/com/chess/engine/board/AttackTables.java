@@ -0,0 +1,91 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+
+public final class AttackTables {
+
+    private static final int[][] KNIGHT_VECTORS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KING_VECTORS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+
+    private static final long[] KNIGHT_ATTACKS = initAttacks(KNIGHT_VECTORS);
+    private static final long[] KING_ATTACKS = initAttacks(KING_VECTORS);
+    private static final long[][] PAWN_ATTACKS = initPawnAttacks();
+    private static final long[][] BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    private static final long[][] LINE = initLines(BETWEEN);
+
+    private AttackTables() {
+        throw new RuntimeException("You can't instantiate this class.");
+    }
+
+    public static long knightAttacks(final int tileCoordinate) {
+        return KNIGHT_ATTACKS[tileCoordinate];
+    }
+
+    public static long kingAttacks(final int tileCoordinate) {
+        return KING_ATTACKS[tileCoordinate];
+    }
+
+    public static long pawnAttacks(final Alliance alliance, final int tileCoordinate) {
+        return PAWN_ATTACKS[alliance.ordinal()][tileCoordinate];
+    }
+
+    public static long between(final int from, final int to) {
+        return BETWEEN[from][to];
+    }
+
+    public static long line(final int from, final int to) {
+        return LINE[from][to];
+    }
+
+    private static long[] initAttacks(final int[][] vectors) {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            for (final int[] vector : vectors) {
+                attacks[square] |= targetMask(square, vector[0], vector[1]);
+            }
+        }
+        return attacks;
+    }
+
+    private static long[][] initPawnAttacks() {
+        final long[][] attacks = new long[Alliance.values().length][BoardUtils.NUM_TILES];
+        for (final Alliance alliance : Alliance.values()) {
+            for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                attacks[alliance.ordinal()][square] = targetMask(square, alliance.getDirection(), -1) |
+                        targetMask(square, alliance.getDirection(), 1);
+            }
+        }
+        return attacks;
+    }
+
+    private static long[][] initLines(final long[][] between) {
+        final long[][] lines = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        for (int from = 0; from < BoardUtils.NUM_TILES; from++) {
+            for (final int[] vector : KING_VECTORS) {
+                long ray = 0L;
+                for (int step = 1; targetMask(from, vector[0] * step, vector[1] * step) != 0L; step++) {
+                    final long target = targetMask(from, vector[0] * step, vector[1] * step);
+                    between[from][BitBoard.firstSquare(target)] = ray;
+                    ray |= target;
+                }
+                long backRay = 0L;
+                for (int step = 1; targetMask(from, -vector[0] * step, -vector[1] * step) != 0L; step++) {
+                    backRay |= targetMask(from, -vector[0] * step, -vector[1] * step);
+                }
+                for (long targets = ray; targets != 0L; targets = BitBoard.clearFirstSquare(targets)) {
+                    lines[from][BitBoard.firstSquare(targets)] = ray | backRay | BitBoard.squareMask(from);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static long targetMask(final int square, final int rowStep, final int columnStep) {
+        final int row = square / BoardUtils.NUM_TILES_PER_ROW + rowStep;
+        final int column = square % BoardUtils.NUM_TILES_PER_ROW + columnStep;
+        if (row < 0 || row >= BoardUtils.NUM_TILES_PER_ROW || column < 0 || column >= BoardUtils.NUM_TILES_PER_ROW) {
+            return 0L;
+        }
+        return BitBoard.squareMask(row * BoardUtils.NUM_TILES_PER_ROW + column);
+    }
+}
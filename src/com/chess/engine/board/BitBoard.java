@@ -0,0 +1,136 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+public final class BitBoard {
+
+    private static final int NUM_PIECE_TYPES = PieceType.values().length;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    // bit i is tile coordinate i, so bit 0 is a8 and bit 63 is h1
+    private final long[] pieceBitboards;
+    private final long[] allianceBitboards;
+    private long occupied;
+
+    BitBoard() {
+        this.pieceBitboards = new long[NUM_PIECE_TYPES * Alliance.values().length];
+        this.allianceBitboards = new long[Alliance.values().length];
+        this.occupied = 0L;
+    }
+
+    BitBoard(final BitBoard other) {
+        this.pieceBitboards = other.pieceBitboards.clone();
+        this.allianceBitboards = other.allianceBitboards.clone();
+        this.occupied = other.occupied;
+    }
+
+    void setPiece(final int tileCoordinate, final Alliance alliance, final PieceType pieceType) {
+        final long mask = squareMask(tileCoordinate);
+        this.pieceBitboards[index(alliance, pieceType)] |= mask;
+        this.allianceBitboards[alliance.ordinal()] |= mask;
+        this.occupied |= mask;
+    }
+
+    void clearPiece(final int tileCoordinate, final Alliance alliance, final PieceType pieceType) {
+        final long mask = ~squareMask(tileCoordinate);
+        this.pieceBitboards[index(alliance, pieceType)] &= mask;
+        this.allianceBitboards[alliance.ordinal()] &= mask;
+        this.occupied &= mask;
+    }
+
+    public long getPieces(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBitboards[index(alliance, pieceType)];
+    }
+
+    public long getPieces(final Alliance alliance) {
+        return this.allianceBitboards[alliance.ordinal()];
+    }
+
+    public long getOccupied() {
+        return this.occupied;
+    }
+
+    public long getEmpty() {
+        return ~this.occupied;
+    }
+
+    public boolean isOccupied(final int tileCoordinate) {
+        return (this.occupied & squareMask(tileCoordinate)) != 0L;
+    }
+
+    public Alliance getAllianceAt(final int tileCoordinate) {
+        final long mask = squareMask(tileCoordinate);
+        if ((this.allianceBitboards[Alliance.WHITE.ordinal()] & mask) != 0L) {
+            return Alliance.WHITE;
+        }
+        if ((this.allianceBitboards[Alliance.BLACK.ordinal()] & mask) != 0L) {
+            return Alliance.BLACK;
+        }
+        return null;
+    }
+
+    public PieceType getPieceTypeAt(final int tileCoordinate) {
+        final Alliance alliance = getAllianceAt(tileCoordinate);
+        if (alliance == null) {
+            return null;
+        }
+        final long mask = squareMask(tileCoordinate);
+        for (final PieceType pieceType : PIECE_TYPES) {
+            if ((this.pieceBitboards[index(alliance, pieceType)] & mask) != 0L) {
+                return pieceType;
+            }
+        }
+        throw new RuntimeException("Occupancy out of sync at " + tileCoordinate);
+    }
+
+    public long attackersOf(final int tileCoordinate, final Alliance attacker, final long occupied) {
+        final long queens = getPieces(attacker, PieceType.QUEEN);
+        return (AttackTables.pawnAttacks(attacker.isWhite() ? Alliance.BLACK : Alliance.WHITE, tileCoordinate) &
+                getPieces(attacker, PieceType.PAWN)) |
+                (AttackTables.knightAttacks(tileCoordinate) & getPieces(attacker, PieceType.KNIGHT)) |
+                (AttackTables.kingAttacks(tileCoordinate) & getPieces(attacker, PieceType.KING)) |
+                (MagicBitboards.bishopAttacks(tileCoordinate, occupied) & (getPieces(attacker, PieceType.BISHOP) | queens)) |
+                (MagicBitboards.rookAttacks(tileCoordinate, occupied) & (getPieces(attacker, PieceType.ROOK) | queens));
+    }
+
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance attacker) {
+        return attackersOf(tileCoordinate, attacker, this.occupied) != 0L;
+    }
+
+    public long pinnedPieces(final int kingCoordinate, final Alliance attacker) {
+        final Alliance defender = attacker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long queens = getPieces(attacker, PieceType.QUEEN);
+        long pinned = 0L;
+        for (long snipers = (MagicBitboards.bishopAttacks(kingCoordinate, getPieces(attacker)) &
+                (getPieces(attacker, PieceType.BISHOP) | queens)) |
+                (MagicBitboards.rookAttacks(kingCoordinate, getPieces(attacker)) &
+                (getPieces(attacker, PieceType.ROOK) | queens)); snipers != 0L; snipers = clearFirstSquare(snipers)) {
+            final long blockers = AttackTables.between(kingCoordinate, firstSquare(snipers)) & this.occupied;
+            if (count(blockers) == 1) {
+                pinned |= blockers & getPieces(defender);
+            }
+        }
+        return pinned;
+    }
+
+    public static long squareMask(final int tileCoordinate) {
+        return 1L << tileCoordinate;
+    }
+
+    public static int firstSquare(final long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    public static long clearFirstSquare(final long bitboard) {
+        return bitboard & (bitboard - 1);
+    }
+
+    public static int count(final long bitboard) {
+        return Long.bitCount(bitboard);
+    }
+
+    private static int index(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+}
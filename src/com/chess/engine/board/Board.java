@@ -1,6 +1,7 @@
 package com.chess.engine.board;
 import com.chess.engine.Alliance;
 import com.chess.engine.pieces.*;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
@@ -8,12 +9,12 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class Board {
 
-    private final List<Tile> gameBoard;
+    private final Piece[] boardPieces;
+    private final Tile[] gameBoard;
+    private final BitBoard bitBoard;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
 
@@ -22,29 +23,75 @@ public class Board {
     private final Player currentPlayer;
 
     private final Pawn enPassantPawn;
+    private final int castlingRights;
+    private final long zobristKey;
 
     private Board(final Builder builder) {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
+        this.boardPieces = builder.boardConfig.clone();
+        this.gameBoard = new Tile[BoardUtils.NUM_TILES];
+        this.bitBoard = new BitBoard(builder.bitBoard);
+        this.whitePieces = calculateActivePieces(Alliance.WHITE);
+        this.blackPieces = calculateActivePieces(Alliance.BLACK);
 
         this.enPassantPawn = builder.enPassantPawn;
+        this.castlingRights = calculateCastlingRights();
 
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
-
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+        // each player finds its checkers and pinned pieces now; its legal moves wait until first use
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
 
         //todo more work
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+        // the builder kept the piece keys up to date; side, castling and en passant are only known here
+        this.zobristKey = builder.pieceKey ^ stateKey();
+    }
+
+    @Override
+    public int hashCode() {
+        final long key = zobristKey();
+        return (int) (key ^ (key >>> 32));
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Board)) {
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+        if (zobristKey() != otherBoard.zobristKey() ||
+                this.currentPlayer.getAlliance() != otherBoard.currentPlayer().getAlliance() ||
+                this.castlingRights != otherBoard.getCastlingRights() ||
+                getEnPassantSquare() != otherBoard.getEnPassantSquare()) {
+            return false;
+        }
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                if (this.bitBoard.getPieces(alliance, pieceType) !=
+                        otherBoard.getBitBoard().getPieces(alliance, pieceType)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public long zobristKey() {
+        return this.zobristKey;
+    }
+
+    private long stateKey() {
+        return Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(getEnPassantSquare())
+                ^ Zobrist.sideKey(this.currentPlayer.getAlliance());
     }
 
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
         for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            final String tileText = this.gameBoard.get(i).toString();
+            final String tileText = getTile(i).toString();
             builder.append(String.format("%3s", tileText));
             if ((i+1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
                 builder.append("\n");
@@ -61,39 +108,31 @@ public class Board {
         return this.whitePieces;
     }
 
-    private Collection<Move> calculateLegalMoves(Collection<Piece> pieces) {
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (final Piece piece : pieces) {
-            legalMoves.addAll(piece.calculateLegalMoves(this));
+    private Collection<Piece> calculateActivePieces(final Alliance alliance) {
+        final Piece[] activePieces = new Piece[BitBoard.count(this.bitBoard.getPieces(alliance))];
+        int i = 0;
+        for (long pieces = this.bitBoard.getPieces(alliance); pieces != 0L; pieces = BitBoard.clearFirstSquare(pieces)) {
+            activePieces[i++] = this.boardPieces[BitBoard.firstSquare(pieces)];
         }
-        return ImmutableList.copyOf(legalMoves);
+        return ImmutableList.copyOf(activePieces);
     }
 
-    private static Collection<Piece> calculateActivePieces(List<Tile> gameBoard, final Alliance alliance) {
-        List<Piece> activePieces = new ArrayList<>();
-
-        for (final Tile tile : gameBoard) {
-            if (tile.isTileOccupied()) {
-                final Piece piece = tile.getPiece();
-                if(piece.getPieceAlliance() == alliance) {
-                    activePieces.add(piece);
-                }
-            }
+    public Tile getTile(final int tileCoordinate) {
+        // tiles are only materialised for callers that still ask for them, mainly the GUI
+        Tile tile = this.gameBoard[tileCoordinate];
+        if (tile == null) {
+            tile = Tile.createTile(tileCoordinate, this.boardPieces[tileCoordinate]);
+            this.gameBoard[tileCoordinate] = tile;
         }
-        return ImmutableList.copyOf(activePieces);
+        return tile;
     }
 
-    public Tile getTile(final int tileCoordinate) {
-        return gameBoard.get(tileCoordinate);
+    public Piece getPiece(final int tileCoordinate) {
+        return this.boardPieces[tileCoordinate];
     }
 
-    private static List<Tile> createGameBoard(final Builder builder) {
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
-        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
-        }
-        return ImmutableList.copyOf(tiles);
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
     }
 
     public static Board createStandardBoard() {
@@ -151,26 +190,78 @@ public class Board {
     }
 
     public Collection<Move> getAllLegalMoves() {
-        return Stream.concat(this.whitePlayer.getLegalMoves().stream(),
-                this.blackPlayer.getLegalMoves().stream()).collect(Collectors.toList());
+        return ImmutableList.copyOf(Iterables.concat(this.whitePlayer.getLegalMoves(),
+                this.blackPlayer.getLegalMoves()));
     }
 
     public Pawn getEnPassantPawn() {
         return this.enPassantPawn;
     }
 
+    public int getEnPassantSquare() {
+        return this.enPassantPawn == null ? SearchBoard.NO_SQUARE :
+                this.enPassantPawn.getPiecePosition() -
+                        (this.enPassantPawn.getPieceAlliance().getDirection() * BoardUtils.NUM_TILES_PER_ROW);
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    private int calculateCastlingRights() {
+        int rights = 0;
+        if (isUnmoved(60, Alliance.WHITE, PieceType.KING)) {
+            rights |= isUnmoved(63, Alliance.WHITE, PieceType.ROOK) ? BoardUtils.WHITE_KING_SIDE_CASTLE : 0;
+            rights |= isUnmoved(56, Alliance.WHITE, PieceType.ROOK) ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE : 0;
+        }
+        if (isUnmoved(4, Alliance.BLACK, PieceType.KING)) {
+            rights |= isUnmoved(7, Alliance.BLACK, PieceType.ROOK) ? BoardUtils.BLACK_KING_SIDE_CASTLE : 0;
+            rights |= isUnmoved(0, Alliance.BLACK, PieceType.ROOK) ? BoardUtils.BLACK_QUEEN_SIDE_CASTLE : 0;
+        }
+        return rights;
+    }
+
+    private boolean isUnmoved(final int tileCoordinate, final Alliance alliance, final PieceType pieceType) {
+        final Piece piece = this.boardPieces[tileCoordinate];
+        return piece != null && piece.isFirstMove() &&
+                piece.getPieceAlliance() == alliance && piece.getPieceType() == pieceType;
+    }
+
     public static class Builder {
 
-        Map<Integer, Piece> boardConfig;
+        final Piece[] boardConfig;
+        final BitBoard bitBoard;
+        // the piece placement part of the zobrist key
+        long pieceKey;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
 
         public Builder() {
-            boardConfig = new HashMap<>();
+            this.boardConfig = new Piece[BoardUtils.NUM_TILES];
+            this.bitBoard = new BitBoard();
+        }
+
+        public Builder(final Board board) {
+            this.boardConfig = board.boardPieces.clone();
+            this.bitBoard = new BitBoard(board.bitBoard);
+            this.pieceKey = board.zobristKey ^ board.stateKey();
         }
 
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            removePiece(this.boardConfig[piece.getPiecePosition()]);
+            this.boardConfig[piece.getPiecePosition()] = piece;
+            this.bitBoard.setPiece(piece.getPiecePosition(), piece.getPieceAlliance(), piece.getPieceType());
+            this.pieceKey ^= Zobrist.pieceKey(piece.getPieceAlliance(), piece.getPieceType(), piece.getPiecePosition());
+            return this;
+        }
+
+        public Builder removePiece(final Piece piece) {
+            if (piece != null && piece.equals(this.boardConfig[piece.getPiecePosition()])) {
+                this.boardConfig[piece.getPiecePosition()] = null;
+                this.bitBoard.clearPiece(piece.getPiecePosition(), piece.getPieceAlliance(), piece.getPieceType());
+                this.pieceKey ^= Zobrist.pieceKey(piece.getPieceAlliance(), piece.getPieceType(),
+                        piece.getPiecePosition());
+            }
             return this;
         }
 
@@ -23,6 +23,11 @@ public class BoardUtils {
 
     public static final int NUM_TILES = 64;
     public static final int NUM_TILES_PER_ROW = 8;
+
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
     private static final String[] ALGEBRAIC_NOTATION = initAlgebraicNotation();
     private static final Map<String, Integer> POSITION_TO_COORDINATE = initPosToCoordMap();
 
@@ -0,0 +1,131 @@
+package com.chess.engine.board;
+
+public final class MagicBitboards {
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    // found offline by random search for this board's a8 = bit 0 layout
+    private static final long[] ROOK_MAGICS = {
+            0x0080102080004000L, 0x4140200190004003L, 0x0200108200200840L, 0x2480080010000481L,
+            0x0480040048008002L, 0x0200020090211418L, 0x4400081044210082L, 0x0100008056012700L,
+            0x08A0800090204000L, 0x008A4000A0100340L, 0x8010802000100080L, 0x0002004012000822L,
+            0xA105000800041100L, 0x0002000200080410L, 0x0104000842501C49L, 0x150A0005008E0044L,
+            0x0101828000400020L, 0x0011010020400080L, 0x0010008020008018L, 0x0C00808008001000L,
+            0x0000110008010004L, 0x4082008004000280L, 0x0080040010080102L, 0x0080020000910044L,
+            0x4002208180004000L, 0x8000400080200088L, 0x0890080020040020L, 0x0000090100201000L,
+            0x8008080100100500L, 0x4080020080800400L, 0xA004014400A20810L, 0x40A0110200004084L,
+            0x4100400181800020L, 0x0030004000402008L, 0x0C80104101002000L, 0x1A30100081800800L,
+            0x0100800400800802L, 0xC184010040400200L, 0x0219011004000208L, 0x10808002C1800100L,
+            0x2060400020828000L, 0x8010402010004009L, 0x0802004028820010L, 0x8010028008028010L,
+            0x000A0104A0120008L, 0x0100040002008080L, 0x0022000401820008L, 0x2A0000410286000CL,
+            0x4000401080002080L, 0x22510022028C4200L, 0x0000801000200080L, 0x0002002240081200L,
+            0x0040040008008280L, 0x0020800400020080L, 0x0240596810020400L, 0x0304140041008200L,
+            0x0000401200208102L, 0x8004804009205301L, 0x0606400900200011L, 0x0040642101100089L,
+            0x0D42002034881112L, 0x0001000804000201L, 0x0400081000820104L, 0x000000D400810822L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x0014410409021200L, 0x0082081856808400L, 0x0004881083000048L, 0x0008206040000844L,
+            0x808404201002200CL, 0x4018225010000800L, 0x0001011010840008L, 0x4001004054044000L,
+            0x4421C110010210A0L, 0x0000140448044112L, 0x0014410112208021L, 0x40001104008000A0L,
+            0x0822020210202012L, 0x444A1208220800A3L, 0x0030220202200610L, 0x0003210100900420L,
+            0x0C04054104040400L, 0x40581820B8018190L, 0x0001004085010101L, 0x121800122028C000L,
+            0x0004002284A00012L, 0xA065104200422010L, 0xC002000041042002L, 0x1000200047080800L,
+            0x0008080204901002L, 0x06021000200420C0L, 0x00202800502080E0L, 0x0202002018008020L,
+            0x001D001041004000L, 0x0730010012490800L, 0x0828421020410401L, 0x00918A00058208C8L,
+            0x0029584800411020L, 0x00944520040C8C00L, 0x0002004405184800L, 0x1000510800440040L,
+            0x004000C0D0410100L, 0x00200040810100A0L, 0x1081044401810104L, 0x0314088420008C01L,
+            0x0000901048001040L, 0x1004040404480324L, 0x100202012A000400L, 0x000020D414005800L,
+            0x0000410252000C00L, 0xA640010122089B00L, 0x002082040850C102L, 0x09880839013010C0L,
+            0x49009C8808C00000L, 0x0803006110080408L, 0x0000B84200900110L, 0x0020000210442000L,
+            0x0081403062088040L, 0x0000040810410040L, 0x004009B104018040L, 0x240208020092000AL,
+            0x10020A0114010401L, 0x0010050051100801L, 0x0084040984052100L, 0x3082A02102208840L,
+            0x0041140820042413L, 0x802100B002100910L, 0x9002A02002021040L, 0x0030410202840300L
+    };
+
+    private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final int[] ROOK_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] ROOK_OFFSETS = new int[BoardUtils.NUM_TILES];
+    private static final long[] ROOK_ATTACKS = initTable(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS);
+
+    private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final int[] BISHOP_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] BISHOP_OFFSETS = new int[BoardUtils.NUM_TILES];
+    private static final long[] BISHOP_ATTACKS = initTable(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+
+    private MagicBitboards() {
+        throw new RuntimeException("You can't instantiate this class.");
+    }
+
+    public static long rookAttacks(final int tileCoordinate, final long occupied) {
+        return ROOK_ATTACKS[ROOK_OFFSETS[tileCoordinate] + (int) (((occupied & ROOK_MASKS[tileCoordinate]) *
+                ROOK_MAGICS[tileCoordinate]) >>> ROOK_SHIFTS[tileCoordinate])];
+    }
+
+    public static long bishopAttacks(final int tileCoordinate, final long occupied) {
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[tileCoordinate] + (int) (((occupied & BISHOP_MASKS[tileCoordinate]) *
+                BISHOP_MAGICS[tileCoordinate]) >>> BISHOP_SHIFTS[tileCoordinate])];
+    }
+
+    public static long queenAttacks(final int tileCoordinate, final long occupied) {
+        return rookAttacks(tileCoordinate, occupied) | bishopAttacks(tileCoordinate, occupied);
+    }
+
+    private static long[] initTable(final int[][] directions, final long[] masks, final long[] magics,
+                                    final int[] shifts, final int[] offsets) {
+        int tableSize = 0;
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            masks[square] = relevantOccupancy(square, directions);
+            shifts[square] = 64 - BitBoard.count(masks[square]);
+            offsets[square] = tableSize;
+            tableSize += 1 << BitBoard.count(masks[square]);
+        }
+        final long[] table = new long[tableSize];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            long subset = 0L;
+            do {
+                final int index = (int) ((subset * magics[square]) >>> shifts[square]);
+                table[offsets[square] + index] = slidingAttacks(square, subset, directions);
+                subset = (subset - masks[square]) & masks[square];
+            } while (subset != 0L);
+        }
+        return table;
+    }
+
+    private static long relevantOccupancy(final int square, final int[][] directions) {
+        long mask = 0L;
+        for (final int[] direction : directions) {
+            int row = square / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int column = square % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(row + direction[0], column + direction[1])) {
+                mask |= BitBoard.squareMask(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slidingAttacks(final int square, final long occupied, final int[][] directions) {
+        long attacks = 0L;
+        for (final int[] direction : directions) {
+            int row = square / BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int column = square % BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(row, column)) {
+                final long target = BitBoard.squareMask(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                attacks |= target;
+                if ((occupied & target) != 0L) {
+                    break;
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int row, final int column) {
+        return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+    }
+}
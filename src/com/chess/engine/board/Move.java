@@ -3,6 +3,7 @@ package com.chess.engine.board;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
+import com.google.common.collect.Iterables;
 
 public abstract class Move {
     protected final Board board;
@@ -83,18 +84,9 @@ public abstract class Move {
     }
 
     public Board execute() {
-        final Board.Builder builder = new Board.Builder();
-
-        for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-            if(!this.movedPiece.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
-
-        for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-            builder.setPiece(piece);
-        }
-        // move the moved piece
+        final Board.Builder builder = new Board.Builder(this.board);
+        // move the moved piece; a captured piece is replaced on its tile
+        builder.removePiece(this.movedPiece);
         builder.setPiece(this.movedPiece.movePiece(this));
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
 
@@ -225,19 +217,9 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Board.Builder builder = new Board.Builder();
-            for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-                if(!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-                if(!piece.equals(this.getAttackedPiece())) {
-                    builder.setPiece(piece);
-                }
-            }
-
+            final Board.Builder builder = new Board.Builder(this.board);
+            builder.removePiece(this.movedPiece);
+            builder.removePiece(this.getAttackedPiece());
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             return builder.build();
@@ -259,33 +241,29 @@ public abstract class Move {
 
         @Override
         public int hashCode() {
-            return decoratedMove.hashCode() + (31 + promotedPawn.hashCode());
+            return 31 * (decoratedMove.hashCode() + (31 + promotedPawn.hashCode())) +
+                    promotionPiece.getPieceType().ordinal();
         }
 
         @Override
         public boolean equals(final Object other) {
-            return this == other || other instanceof PawnPromotion && (super.equals(other));
+            return this == other || other instanceof PawnPromotion && (super.equals(other)) &&
+                    promotionPiece.getPieceType() == ((PawnPromotion) other).getPromotionPiece().getPieceType();
         }
 
         @Override
         public Board execute() {
-            final Board pawnMovedBoard = this.decoratedMove.execute();
-            final Board.Builder builder = new Board.Builder();
-            for (final Piece piece : pawnMovedBoard.currentPlayer().getActivePieces()) {
-                if(!this.promotedPawn.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            for (final Piece piece : pawnMovedBoard.currentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
-
+            final Board.Builder builder = new Board.Builder(this.board);
+            builder.removePiece(this.promotedPawn);
             builder.setPiece(this.promotionPiece.movePiece(this));
-            builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             return builder.build();
         }
 
+        public Piece getPromotionPiece() {
+            return this.promotionPiece;
+        }
+
         @Override
         public boolean isAttack() {
             return this.decoratedMove.isAttack();
@@ -311,17 +289,8 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Board.Builder builder = new Board.Builder();
-            for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-                if(!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
-
+            final Board.Builder builder = new Board.Builder(this.board);
+            builder.removePiece(this.movedPiece);
             final Pawn movedPawn = (Pawn) this.movedPiece.movePiece(this);
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
@@ -361,20 +330,11 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Board.Builder builder = new Board.Builder();
-            for (final Piece piece : this.board.currentPlayer().getActivePieces()) {
-                if(!this.movedPiece.equals(piece) &&!this.castleRook.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
-
+            final Board.Builder builder = new Board.Builder(this.board);
+            builder.removePiece(this.movedPiece);
+            builder.removePiece(this.castleRook);
             builder.setPiece(this.movedPiece.movePiece(this));
-            // TODO- first move argument in rook class
-            builder.setPiece(new Rook(this.castleRookDestination, this.getCastleRook().getPieceAlliance()));
+            builder.setPiece(new Rook(this.castleRookDestination, this.getCastleRook().getPieceAlliance(), false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
 
             return builder.build();
@@ -445,6 +405,16 @@ public abstract class Move {
             super(null, 65);
         }
 
+        @Override
+        public int hashCode() {
+            return -1;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof NullMove;
+        }
+
         @Override
         public Board execute() {
             throw new RuntimeException("Could not execute null move!");
@@ -464,15 +434,20 @@ public abstract class Move {
 
         public static Move createMove(final Board board, final int currentCoordinate,
                                       final int destinationCoordinate) {
-            for (final Move move : board.getAllLegalMoves()) {
-                if (move.getCurrentCoordinate() == currentCoordinate &&
-                move.getDestinationCoordinate() == destinationCoordinate) {
+            for (final Move move : Iterables.concat(board.whitePlayer().getLegalMovesFrom(currentCoordinate),
+                    board.blackPlayer().getLegalMovesFrom(currentCoordinate))) {
+                if (move.getDestinationCoordinate() == destinationCoordinate) {
                     return move;
                 }
             }
 
             return new NullMove();
         }
+
+        public static Move createMove(final Board board, final int packedMove) {
+            final Move move = PackedMove.toMove(board, packedMove);
+            return move != null ? move : new NullMove();
+        }
     }
 }
 
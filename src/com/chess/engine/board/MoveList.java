@@ -0,0 +1,59 @@
+package com.chess.engine.board;
+
+public final class MoveList {
+
+    private final int[] moves;
+    private int size;
+
+    public MoveList() {
+        this.moves = new int[SearchBoard.MAX_MOVES];
+        this.size = 0;
+    }
+
+    public static MoveList[] createPlyLists(final int maxPly) {
+        final MoveList[] moveLists = new MoveList[maxPly];
+        for (int i = 0; i < maxPly; i++) {
+            moveLists[i] = new MoveList();
+        }
+        return moveLists;
+    }
+
+    public void add(final int move) {
+        this.moves[this.size++] = move;
+    }
+
+    public int get(final int index) {
+        return this.moves[index];
+    }
+
+    public void set(final int index, final int move) {
+        this.moves[index] = move;
+    }
+
+    public void swap(final int first, final int second) {
+        final int move = this.moves[first];
+        this.moves[first] = this.moves[second];
+        this.moves[second] = move;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public boolean contains(final int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+}
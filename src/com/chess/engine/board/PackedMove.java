@@ -0,0 +1,123 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import static com.chess.engine.board.Move.*;
+
+public final class PackedMove {
+
+    // bits 0-5 from, 6-11 to, 12-15 moved piece, 16-19 captured piece, 20-22 promotion, 23-25 flags
+    public static final int NULL_MOVE = 0;
+    public static final int NO_PIECE = 0xF;
+
+    public static final int FLAG_NONE = 0;
+    public static final int FLAG_PAWN_JUMP = 1;
+    public static final int FLAG_EN_PASSANT = 2;
+    public static final int FLAG_CASTLE = 3;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final Alliance[] ALLIANCES = Alliance.values();
+
+    private PackedMove() {
+        throw new RuntimeException("You can't instantiate this class.");
+    }
+
+    public static int create(final int from, final int to, final int pieceCode, final int capturedCode,
+                             final PieceType promotionType, final int flags) {
+        return from | (to << 6) | (pieceCode << 12) | (capturedCode << 16) |
+                ((promotionType == null ? 0 : promotionType.ordinal()) << 20) | (flags << 23);
+    }
+
+    public static int fromSquare(final int move) {
+        return move & 0x3F;
+    }
+
+    public static int toSquare(final int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int pieceCode(final int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static int capturedCode(final int move) {
+        return (move >>> 16) & 0xF;
+    }
+
+    public static PieceType promotionType(final int move) {
+        final int promotion = (move >>> 20) & 0x7;
+        return promotion == 0 ? null : PIECE_TYPES[promotion];
+    }
+
+    public static int flags(final int move) {
+        return (move >>> 23) & 0x7;
+    }
+
+    public static boolean isCapture(final int move) {
+        return capturedCode(move) != NO_PIECE;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return ((move >>> 20) & 0x7) != 0;
+    }
+
+    public static int fromToKey(final int move) {
+        return move & 0xFFF;
+    }
+
+    public static int pieceCode(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * PIECE_TYPES.length + pieceType.ordinal();
+    }
+
+    public static PieceType pieceType(final int pieceCode) {
+        return PIECE_TYPES[pieceCode % PIECE_TYPES.length];
+    }
+
+    public static Alliance alliance(final int pieceCode) {
+        return ALLIANCES[pieceCode / PIECE_TYPES.length];
+    }
+
+    public static int fromMove(final Move move) {
+        final Piece movedPiece = move.getMovedPiece();
+        if (movedPiece == null) {
+            return NULL_MOVE;
+        }
+        final Piece attackedPiece = move.getAttackedPiece();
+        final PieceType promotionType = move instanceof PawnPromotion ?
+                ((PawnPromotion) move).getPromotionPiece().getPieceType() : null;
+        final int flags;
+        if (move.isCastlingMove()) {
+            flags = FLAG_CASTLE;
+        } else if (move instanceof PawnJump) {
+            flags = FLAG_PAWN_JUMP;
+        } else if (move instanceof PawnEnPassantAttackMove) {
+            flags = FLAG_EN_PASSANT;
+        } else {
+            flags = FLAG_NONE;
+        }
+        return create(move.getCurrentCoordinate(), move.getDestinationCoordinate(),
+                pieceCode(movedPiece.getPieceAlliance(), movedPiece.getPieceType()),
+                attackedPiece == null ? NO_PIECE : pieceCode(attackedPiece.getPieceAlliance(), attackedPiece.getPieceType()),
+                promotionType, flags);
+    }
+
+    public static Move toMove(final Board board, final int move) {
+        for (final Move boardMove : board.currentPlayer().getLegalMovesFrom(fromSquare(move))) {
+            if (boardMove.getDestinationCoordinate() == toSquare(move) &&
+                    (!(boardMove instanceof PawnPromotion) ||
+                    ((PawnPromotion) boardMove).getPromotionPiece().getPieceType() == promotionType(move))) {
+                return boardMove;
+            }
+        }
+        return null;
+    }
+
+    public static String toString(final int move) {
+        final PieceType promotionType = promotionType(move);
+        return BoardUtils.getPositionAtCoordinate(fromSquare(move)) +
+                BoardUtils.getPositionAtCoordinate(toSquare(move)) +
+                (promotionType == null ? "" : promotionType.toString().toLowerCase());
+    }
+}
@@ -0,0 +1,482 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.PackedMove.*;
+
+public final class SearchBoard {
+
+    public static final int MAX_MOVES = 256;
+    public static final int MAX_PLY = 1024;
+
+    public static final int NO_SQUARE = -1;
+    private static final int EMPTY = NO_PIECE;
+
+    private static final int WHITE_KING_SIDE = BoardUtils.WHITE_KING_SIDE_CASTLE;
+    private static final int WHITE_QUEEN_SIDE = BoardUtils.WHITE_QUEEN_SIDE_CASTLE;
+    private static final int BLACK_KING_SIDE = BoardUtils.BLACK_KING_SIDE_CASTLE;
+    private static final int BLACK_QUEEN_SIDE = BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+    private static final int[] CASTLING_RIGHTS_MASK = initCastlingRightsMask();
+
+    private static final byte STATUS_UNKNOWN = 0;
+    private static final byte STATUS_HAS_LEGAL_MOVE = 1;
+    private static final byte STATUS_NO_LEGAL_MOVE = 2;
+
+    private static final PieceType[] PROMOTION_TYPES =
+            {PieceType.QUEEN, PieceType.ROOK, PieceType.KNIGHT, PieceType.BISHOP};
+
+    private final BitBoard bitBoard;
+    private final int[] squares;
+    private Alliance sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private long zobristKey;
+
+    private final int[] moveHistory;
+    private final int[] castlingHistory;
+    private final int[] enPassantHistory;
+    private final long[] keyHistory;
+    private final byte[] legalMoveStatus;
+    private int ply;
+
+    private final MoveList scratchMoves;
+
+    public SearchBoard(final Board board) {
+        this.bitBoard = new BitBoard(board.getBitBoard());
+        this.squares = new int[BoardUtils.NUM_TILES];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final Piece piece = board.getPiece(i);
+            this.squares[i] = piece == null ? EMPTY : pieceCode(piece.getPieceAlliance(), piece.getPieceType());
+        }
+        this.sideToMove = board.currentPlayer().getAlliance();
+        this.castlingRights = board.getCastlingRights();
+        this.enPassantSquare = board.getEnPassantSquare();
+        this.zobristKey = board.zobristKey();
+        this.moveHistory = new int[MAX_PLY];
+        this.castlingHistory = new int[MAX_PLY];
+        this.enPassantHistory = new int[MAX_PLY];
+        this.keyHistory = new long[MAX_PLY];
+        this.legalMoveStatus = new byte[MAX_PLY + 1];
+        this.ply = 0;
+        this.scratchMoves = new MoveList();
+    }
+
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    public long zobristKey() {
+        return this.zobristKey;
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    public int getPieceCode(final int tileCoordinate) {
+        return this.squares[tileCoordinate];
+    }
+
+    public boolean makeMove(final int move) {
+        final int from = fromSquare(move);
+        final int to = toSquare(move);
+        final int flags = flags(move);
+        final Alliance mover = this.sideToMove;
+        final int movingCode = pieceCode(move);
+        final int capturedCode = capturedCode(move);
+
+        this.moveHistory[this.ply] = move;
+        this.castlingHistory[this.ply] = this.castlingRights;
+        this.enPassantHistory[this.ply] = this.enPassantSquare;
+        this.keyHistory[this.ply] = this.zobristKey;
+        this.ply++;
+        this.legalMoveStatus[this.ply] = STATUS_UNKNOWN;
+
+        if (capturedCode != EMPTY) {
+            removePiece(flags == FLAG_EN_PASSANT ?
+                    to - (mover.getDirection() * BoardUtils.NUM_TILES_PER_ROW) : to, capturedCode);
+        }
+        removePiece(from, movingCode);
+        final PieceType promotionType = promotionType(move);
+        putPiece(to, promotionType == null ? movingCode : pieceCode(mover, promotionType));
+
+        if (flags == FLAG_CASTLE) {
+            final int rookFrom = castleRookStart(to);
+            final int rookTo = castleRookDestination(to);
+            final int rookCode = this.squares[rookFrom];
+            removePiece(rookFrom, rookCode);
+            putPiece(rookTo, rookCode);
+        }
+
+        final int castlingRights = this.castlingRights & CASTLING_RIGHTS_MASK[from] & CASTLING_RIGHTS_MASK[to];
+        final int enPassantSquare = flags == FLAG_PAWN_JUMP ? (from + to) / 2 : NO_SQUARE;
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.castlingKey(castlingRights)
+                ^ Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.enPassantKey(enPassantSquare)
+                ^ Zobrist.sideKey(Alliance.BLACK);
+        this.castlingRights = castlingRights;
+        this.enPassantSquare = enPassantSquare;
+        this.sideToMove = opponent(mover);
+
+        if (isSquareAttacked(kingSquare(mover), this.sideToMove)) {
+            unmakeMove();
+            return false;
+        }
+        return true;
+    }
+
+    public void unmakeMove() {
+        this.ply--;
+        final int move = this.moveHistory[this.ply];
+        final int from = fromSquare(move);
+        final int to = toSquare(move);
+        final int flags = flags(move);
+        final Alliance mover = opponent(this.sideToMove);
+        final int capturedCode = capturedCode(move);
+
+        if (flags == FLAG_CASTLE) {
+            final int rookFrom = castleRookStart(to);
+            final int rookTo = castleRookDestination(to);
+            final int rookCode = this.squares[rookTo];
+            removePiece(rookTo, rookCode);
+            putPiece(rookFrom, rookCode);
+        }
+
+        removePiece(to, this.squares[to]);
+        putPiece(from, pieceCode(move));
+
+        if (capturedCode != EMPTY) {
+            putPiece(flags == FLAG_EN_PASSANT ?
+                    to - (mover.getDirection() * BoardUtils.NUM_TILES_PER_ROW) : to, capturedCode);
+        }
+
+        this.castlingRights = this.castlingHistory[this.ply];
+        this.enPassantSquare = this.enPassantHistory[this.ply];
+        this.zobristKey = this.keyHistory[this.ply];
+        this.sideToMove = mover;
+    }
+
+    // passes the turn, leaving an en-passant square forfeited
+    public void makeNullMove() {
+        this.moveHistory[this.ply] = NULL_MOVE;
+        this.castlingHistory[this.ply] = this.castlingRights;
+        this.enPassantHistory[this.ply] = this.enPassantSquare;
+        this.keyHistory[this.ply] = this.zobristKey;
+        this.ply++;
+        this.legalMoveStatus[this.ply] = STATUS_UNKNOWN;
+
+        this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.sideKey(Alliance.BLACK);
+        this.enPassantSquare = NO_SQUARE;
+        this.sideToMove = opponent(this.sideToMove);
+    }
+
+    public void unmakeNullMove() {
+        this.ply--;
+        this.enPassantSquare = this.enPassantHistory[this.ply];
+        this.zobristKey = this.keyHistory[this.ply];
+        this.sideToMove = opponent(this.sideToMove);
+    }
+
+    public boolean hasNonPawnMaterial(final Alliance alliance) {
+        final long pawnsAndKing = this.bitBoard.getPieces(alliance, PieceType.PAWN) |
+                this.bitBoard.getPieces(alliance, PieceType.KING);
+        return (this.bitBoard.getPieces(alliance) & ~pawnsAndKing) != 0;
+    }
+
+    public boolean isInCheck() {
+        return isSquareAttacked(kingSquare(this.sideToMove), opponent(this.sideToMove));
+    }
+
+    public boolean hasLegalMove() {
+        if (this.legalMoveStatus[this.ply] == STATUS_UNKNOWN) {
+            this.legalMoveStatus[this.ply] = calculateHasLegalMove() ? STATUS_HAS_LEGAL_MOVE : STATUS_NO_LEGAL_MOVE;
+        }
+        return this.legalMoveStatus[this.ply] == STATUS_HAS_LEGAL_MOVE;
+    }
+
+    public boolean isInCheckmate() {
+        return isInCheck() && !hasLegalMove();
+    }
+
+    public boolean isInStalemate() {
+        return !isInCheck() && !hasLegalMove();
+    }
+
+    // either side's legal moves, found from checkers and pins since only the side to move can make its moves
+    public int countLegalMoves(final Alliance alliance) {
+        final Alliance opponent = opponent(alliance);
+        final int kingSquare = kingSquare(alliance);
+        final long checkers = this.bitBoard.attackersOf(kingSquare, opponent, this.bitBoard.getOccupied());
+        final long pinnedPieces = this.bitBoard.pinnedPieces(kingSquare, opponent);
+        generateMoves(alliance, this.scratchMoves);
+        int count = 0;
+        for (int i = 0; i < this.scratchMoves.size(); i++) {
+            if (!leavesKingInCheck(this.scratchMoves.get(i), kingSquare, checkers, pinnedPieces)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public void generateMoves(final MoveList moves) {
+        generateMoves(this.sideToMove, moves);
+    }
+
+    public void generateMoves(final Alliance alliance, final MoveList moves) {
+        moves.clear();
+        addCaptures(alliance, moves);
+        addQuiets(alliance, moves);
+    }
+
+    public void generateCaptures(final MoveList moves) {
+        moves.clear();
+        addCaptures(this.sideToMove, moves);
+    }
+
+    public void generateQuiets(final MoveList moves) {
+        moves.clear();
+        addQuiets(this.sideToMove, moves);
+    }
+
+    public boolean isPseudoLegal(final int move) {
+        final int from = fromSquare(move);
+        final int to = toSquare(move);
+        final int pieceCode = pieceCode(move);
+        if (move == NULL_MOVE || pieceCode == EMPTY || this.squares[from] != pieceCode ||
+                alliance(pieceCode) != this.sideToMove) {
+            return false;
+        }
+        final int flags = flags(move);
+        if (flags == FLAG_CASTLE) {
+            this.scratchMoves.clear();
+            generateCastleMoves(this.sideToMove, this.scratchMoves);
+            return this.scratchMoves.contains(move);
+        }
+        if (flags == FLAG_EN_PASSANT) {
+            return to == this.enPassantSquare && move == create(from, to, pieceCode,
+                    pieceCode(opponent(this.sideToMove), PieceType.PAWN), null, FLAG_EN_PASSANT) &&
+                    (AttackTables.pawnAttacks(this.sideToMove, from) & BitBoard.squareMask(to)) != 0L;
+        }
+        final int capturedCode = capturedCode(move);
+        if (this.squares[to] != capturedCode || (capturedCode != EMPTY && alliance(capturedCode) == this.sideToMove)) {
+            return false;
+        }
+        if (pieceType(pieceCode) != PieceType.PAWN) {
+            return flags == FLAG_NONE && !isPromotion(move) &&
+                    (attacks(pieceType(pieceCode), from) & BitBoard.squareMask(to)) != 0L;
+        }
+        if (this.sideToMove.isPawnPromotionSquare(to) != isPromotion(move)) {
+            return false;
+        }
+        final int forward = this.sideToMove.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        if (flags == FLAG_PAWN_JUMP) {
+            return isPawnStartSquare(this.sideToMove, from) && to == from + 2 * forward &&
+                    this.squares[from + forward] == EMPTY;
+        }
+        if (capturedCode == EMPTY) {
+            return to == from + forward;
+        }
+        return (AttackTables.pawnAttacks(this.sideToMove, from) & BitBoard.squareMask(to)) != 0L;
+    }
+
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance attacker) {
+        return this.bitBoard.isSquareAttacked(tileCoordinate, attacker);
+    }
+
+    private boolean calculateHasLegalMove() {
+        generateMoves(this.sideToMove, this.scratchMoves);
+        for (int i = 0; i < this.scratchMoves.size(); i++) {
+            if (makeMove(this.scratchMoves.get(i))) {
+                unmakeMove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean leavesKingInCheck(final int move, final int kingSquare, final long checkers,
+                                      final long pinnedPieces) {
+        final int from = fromSquare(move);
+        final int to = toSquare(move);
+        final Alliance mover = alliance(pieceCode(move));
+        final Alliance opponent = opponent(mover);
+        final long occupied = this.bitBoard.getOccupied();
+        final long fromMask = BitBoard.squareMask(from);
+        final long toMask = BitBoard.squareMask(to);
+
+        if (from == kingSquare) {
+            return this.bitBoard.attackersOf(to, opponent, occupied & ~fromMask) != 0L;
+        }
+        if (flags(move) == FLAG_EN_PASSANT) {
+            final long capturedMask = BitBoard.squareMask(to - mover.getDirection() * BoardUtils.NUM_TILES_PER_ROW);
+            return (this.bitBoard.attackersOf(kingSquare, opponent,
+                    (occupied & ~fromMask & ~capturedMask) | toMask) & ~capturedMask) != 0L;
+        }
+        if (BitBoard.count(checkers) > 1) {
+            return true;
+        }
+        if (checkers != 0L &&
+                (toMask & (checkers | AttackTables.between(kingSquare, BitBoard.firstSquare(checkers)))) == 0L) {
+            return true;
+        }
+        return (pinnedPieces & fromMask) != 0L && (toMask & AttackTables.line(kingSquare, from)) == 0L;
+    }
+
+    private void addCaptures(final Alliance alliance, final MoveList moves) {
+        final long enemies = this.bitBoard.getPieces(opponent(alliance));
+        final int forward = alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        for (long pawns = this.bitBoard.getPieces(alliance, PieceType.PAWN); pawns != 0L;
+             pawns = BitBoard.clearFirstSquare(pawns)) {
+            final int from = BitBoard.firstSquare(pawns);
+            final int pieceCode = this.squares[from];
+            if (alliance.isPawnPromotionSquare(from + forward) && this.squares[from + forward] == EMPTY) {
+                addPawnMove(alliance, from, from + forward, pieceCode, EMPTY, moves);
+            }
+            final long attacks = AttackTables.pawnAttacks(alliance, from);
+            for (long targets = attacks & enemies; targets != 0L; targets = BitBoard.clearFirstSquare(targets)) {
+                final int to = BitBoard.firstSquare(targets);
+                addPawnMove(alliance, from, to, pieceCode, this.squares[to], moves);
+            }
+            if (alliance == this.sideToMove && this.enPassantSquare != NO_SQUARE &&
+                    (attacks & BitBoard.squareMask(this.enPassantSquare)) != 0L) {
+                moves.add(create(from, this.enPassantSquare, pieceCode, pieceCode(opponent(alliance), PieceType.PAWN),
+                        null, FLAG_EN_PASSANT));
+            }
+        }
+        addPieceMoves(alliance, enemies, moves);
+    }
+
+    private void addQuiets(final Alliance alliance, final MoveList moves) {
+        final int forward = alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        for (long pawns = this.bitBoard.getPieces(alliance, PieceType.PAWN); pawns != 0L;
+             pawns = BitBoard.clearFirstSquare(pawns)) {
+            final int from = BitBoard.firstSquare(pawns);
+            final int oneStep = from + forward;
+            if (this.squares[oneStep] != EMPTY || alliance.isPawnPromotionSquare(oneStep)) {
+                continue;
+            }
+            moves.add(create(from, oneStep, this.squares[from], EMPTY, null, FLAG_NONE));
+            if (isPawnStartSquare(alliance, from) && this.squares[oneStep + forward] == EMPTY) {
+                moves.add(create(from, oneStep + forward, this.squares[from], EMPTY, null, FLAG_PAWN_JUMP));
+            }
+        }
+        addPieceMoves(alliance, this.bitBoard.getEmpty(), moves);
+        generateCastleMoves(alliance, moves);
+    }
+
+    private void addPieceMoves(final Alliance alliance, final long targets, final MoveList moves) {
+        for (long pieces = this.bitBoard.getPieces(alliance) & ~this.bitBoard.getPieces(alliance, PieceType.PAWN);
+             pieces != 0L; pieces = BitBoard.clearFirstSquare(pieces)) {
+            final int from = BitBoard.firstSquare(pieces);
+            final int pieceCode = this.squares[from];
+            addMoves(from, pieceCode, attacks(pieceType(pieceCode), from) & targets, moves);
+        }
+    }
+
+    private long attacks(final PieceType pieceType, final int from) {
+        switch (pieceType) {
+            case KNIGHT:
+                return AttackTables.knightAttacks(from);
+            case BISHOP:
+                return MagicBitboards.bishopAttacks(from, this.bitBoard.getOccupied());
+            case ROOK:
+                return MagicBitboards.rookAttacks(from, this.bitBoard.getOccupied());
+            case QUEEN:
+                return MagicBitboards.queenAttacks(from, this.bitBoard.getOccupied());
+            case KING:
+                return AttackTables.kingAttacks(from);
+            default:
+                return 0L;
+        }
+    }
+
+    private static boolean isPawnStartSquare(final Alliance alliance, final int tileCoordinate) {
+        return alliance.isWhite() ? BoardUtils.SECOND_RANK[tileCoordinate] : BoardUtils.SEVENTH_RANK[tileCoordinate];
+    }
+
+    private static void addPawnMove(final Alliance alliance, final int from, final int to,
+                                    final int pieceCode, final int capturedCode, final MoveList moves) {
+        if (alliance.isPawnPromotionSquare(to)) {
+            for (final PieceType promotionType : PROMOTION_TYPES) {
+                moves.add(create(from, to, pieceCode, capturedCode, promotionType, FLAG_NONE));
+            }
+        } else {
+            moves.add(create(from, to, pieceCode, capturedCode, null, FLAG_NONE));
+        }
+    }
+
+    private void addMoves(final int from, final int pieceCode, final long destinations, final MoveList moves) {
+        for (long targets = destinations; targets != 0L; targets = BitBoard.clearFirstSquare(targets)) {
+            final int to = BitBoard.firstSquare(targets);
+            moves.add(create(from, to, pieceCode, this.squares[to], null, FLAG_NONE));
+        }
+    }
+
+    private void generateCastleMoves(final Alliance alliance, final MoveList moves) {
+        final Alliance opponent = opponent(alliance);
+        final int kingSide = alliance.isWhite() ? WHITE_KING_SIDE : BLACK_KING_SIDE;
+        final int queenSide = alliance.isWhite() ? WHITE_QUEEN_SIDE : BLACK_QUEEN_SIDE;
+        final int king = alliance.isWhite() ? 60 : 4;
+        if ((this.castlingRights & (kingSide | queenSide)) == 0 || isSquareAttacked(king, opponent)) {
+            return;
+        }
+        final int kingCode = pieceCode(alliance, PieceType.KING);
+        if ((this.castlingRights & kingSide) != 0 &&
+                this.squares[king + 1] == EMPTY && this.squares[king + 2] == EMPTY &&
+                !isSquareAttacked(king + 1, opponent) && !isSquareAttacked(king + 2, opponent)) {
+            moves.add(create(king, king + 2, kingCode, EMPTY, null, FLAG_CASTLE));
+        }
+        if ((this.castlingRights & queenSide) != 0 &&
+                this.squares[king - 1] == EMPTY && this.squares[king - 2] == EMPTY && this.squares[king - 3] == EMPTY &&
+                !isSquareAttacked(king - 1, opponent) && !isSquareAttacked(king - 2, opponent)) {
+            moves.add(create(king, king - 2, kingCode, EMPTY, null, FLAG_CASTLE));
+        }
+    }
+
+    private int kingSquare(final Alliance alliance) {
+        return BitBoard.firstSquare(this.bitBoard.getPieces(alliance, PieceType.KING));
+    }
+
+    private void putPiece(final int tileCoordinate, final int code) {
+        this.squares[tileCoordinate] = code;
+        this.zobristKey ^= Zobrist.pieceKey(code, tileCoordinate);
+        this.bitBoard.setPiece(tileCoordinate, alliance(code), pieceType(code));
+    }
+
+    private void removePiece(final int tileCoordinate, final int code) {
+        this.squares[tileCoordinate] = EMPTY;
+        this.zobristKey ^= Zobrist.pieceKey(code, tileCoordinate);
+        this.bitBoard.clearPiece(tileCoordinate, alliance(code), pieceType(code));
+    }
+
+    private static Alliance opponent(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+    private static int castleRookStart(final int kingDestination) {
+        return kingDestination % BoardUtils.NUM_TILES_PER_ROW == 6 ? kingDestination + 1 : kingDestination - 2;
+    }
+
+    private static int castleRookDestination(final int kingDestination) {
+        return kingDestination % BoardUtils.NUM_TILES_PER_ROW == 6 ? kingDestination - 1 : kingDestination + 1;
+    }
+
+    private static int[] initCastlingRightsMask() {
+        final int[] mask = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(mask, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        mask[63] &= ~WHITE_KING_SIDE;
+        mask[56] &= ~WHITE_QUEEN_SIDE;
+        mask[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[7] &= ~BLACK_KING_SIDE;
+        mask[0] &= ~BLACK_QUEEN_SIDE;
+        return mask;
+    }
+}
@@ -0,0 +1,74 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.SplittableRandom;
+
+public final class Zobrist {
+
+    private static final long SEED = 0x5DEECE66DL;
+    private static final int NUM_PIECE_CODES = Alliance.values().length * PieceType.values().length;
+    private static final SplittableRandom RANDOM = new SplittableRandom(SEED);
+
+    private static final long[][] PIECE_KEYS = initPieceKeys();
+    private static final long[] CASTLING_KEYS = initKeys(16);
+    private static final long[] EN_PASSANT_KEYS = initKeys(BoardUtils.NUM_TILES_PER_ROW);
+    private static final long BLACK_TO_MOVE_KEY = RANDOM.nextLong();
+
+    private Zobrist() {
+        throw new RuntimeException("You can't instantiate this class.");
+    }
+
+    public static long pieceKey(final Alliance alliance, final PieceType pieceType, final int tileCoordinate) {
+        return PIECE_KEYS[alliance.ordinal() * PieceType.values().length + pieceType.ordinal()][tileCoordinate];
+    }
+
+    static long pieceKey(final int pieceCode, final int tileCoordinate) {
+        return PIECE_KEYS[pieceCode][tileCoordinate];
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    public static long enPassantKey(final int enPassantSquare) {
+        return enPassantSquare == SearchBoard.NO_SQUARE ? 0L :
+                EN_PASSANT_KEYS[enPassantSquare % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    public static long sideKey(final Alliance sideToMove) {
+        return sideToMove.isBlack() ? BLACK_TO_MOVE_KEY : 0L;
+    }
+
+    // from scratch; boards keep their keys incrementally, so this is the reference to check them against
+    public static long calculateKey(final Board board) {
+        long key = 0L;
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final Piece piece = board.getPiece(i);
+            if (piece != null) {
+                key ^= pieceKey(piece.getPieceAlliance(), piece.getPieceType(), i);
+            }
+        }
+        return key ^ castlingKey(board.getCastlingRights())
+                ^ enPassantKey(board.getEnPassantSquare())
+                ^ sideKey(board.currentPlayer().getAlliance());
+    }
+
+    private static long[][] initPieceKeys() {
+        final long[][] keys = new long[NUM_PIECE_CODES][];
+        for (int i = 0; i < NUM_PIECE_CODES; i++) {
+            keys[i] = initKeys(BoardUtils.NUM_TILES);
+        }
+        return keys;
+    }
+
+    private static long[] initKeys(final int size) {
+        final long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = RANDOM.nextLong();
+        }
+        return keys;
+    }
+}
@@ -1,19 +1,13 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
-import com.google.common.collect.ImmutableList;
-import static com.chess.engine.board.Move.*;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public class King extends Piece {
-    private final static int[] CANDIDATE_MOVE_VECTOR_CANDIDATES = {-9, -8, -7, -1, 1, 7, 8 , 9};
     public King(final int piecePosition, final Alliance pieceAlliance) {
         super(PieceType.KING, piecePosition, pieceAlliance, true);
     }
@@ -23,35 +17,8 @@ public class King extends Piece {
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_VECTOR_CANDIDATES) {
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            if((isFirstColumnExclusion(this.piecePosition, currentCandidateOffset) ||
-                    (isEighthColumnExcursion(this.piecePosition, currentCandidateOffset)))) {
-                continue;
-            }
-
-            if(BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                if (!candidateDestinationTile.isTileOccupied()) {
-                    legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                } else {
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-
-                    if (this.pieceAlliance != pieceAlliance) {
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                    }
-                }
-            }
-        }
-
-
-
-
-        return ImmutableList.copyOf(legalMoves);
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        return calculateMajorMoves(board, AttackTables.kingAttacks(this.piecePosition));
     }
 
     @Override
@@ -61,16 +28,6 @@ public class King extends Piece {
 
     @Override
     public King movePiece(Move move) {
-        return new King(move.getDestinationCoordinate(), move.getMovedPiece().getPieceAlliance());
-    }
-
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -9 || candidateOffset == -1 ||
-                candidateOffset == 7);
-    }
-
-    private static boolean isEighthColumnExcursion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.EIGHTH_COLUMN[currentPosition] && (candidateOffset == -7 || candidateOffset == 1 ||
-                candidateOffset == 9);
+        return new King(move.getDestinationCoordinate(), move.getMovedPiece().getPieceAlliance(), false);
     }
 }
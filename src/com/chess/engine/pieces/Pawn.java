@@ -1,6 +1,8 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
@@ -12,7 +14,6 @@ import java.util.Collection;
 import java.util.List;
 
 public class Pawn extends Piece {
-    private final static int[] CANDIDATE_MOVE_VECTOR_CANDIDATES = {7, 8, 9, 16};
     public Pawn(int piecePosition, final Alliance pieceAlliance) {
         super(PieceType.PAWN, piecePosition, pieceAlliance, true);
     }
@@ -25,83 +26,39 @@ public class Pawn extends Piece {
     public Collection<Move> calculateLegalMoves(Board board) {
         final List<Move> legalMoves = new ArrayList<>();
 
-        for (final int currentCandidateOffset: CANDIDATE_MOVE_VECTOR_CANDIDATES) {
-            final int candidateDestinationCoordinate = this.piecePosition + (currentCandidateOffset *
-                    this.getPieceAlliance().getDirection());
-            if(!BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                continue;
+        final int forwardCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
+        if (BoardUtils.isValidTileCoordinate(forwardCoordinate) && board.getPiece(forwardCoordinate) == null) {
+            if (this.pieceAlliance.isPawnPromotionSquare(forwardCoordinate)) {
+                addPawnPromotions(board, forwardCoordinate, null, legalMoves);
+            } else {
+                legalMoves.add(new PawnMove(board, this, forwardCoordinate));
             }
-
-            if(currentCandidateOffset == 8 &&
-                    !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                if(this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                    addPawnPromotions(board, candidateDestinationCoordinate,
-                            null, legalMoves);
-                } else {
-                    legalMoves.add(new Move.PawnMove
-                            (board, this, candidateDestinationCoordinate));
-                }
-            } else if (currentCandidateOffset == 16 && this.isFirstMove() &&
+            final int jumpCoordinate = forwardCoordinate + (this.pieceAlliance.getDirection() * 8);
+            if (this.isFirstMove() &&
                     ((BoardUtils.SEVENTH_RANK[this.piecePosition] && this.pieceAlliance.isBlack()) ||
-                    (BoardUtils.SECOND_RANK[this.piecePosition] && this.pieceAlliance.isWhite()))) {
-                final int behindCandidateDestinationCoordinate = this.piecePosition +
-                        (this.pieceAlliance.getDirection() * 8);
-                if (!board.getTile(behindCandidateDestinationCoordinate).isTileOccupied() &&
-                        !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                    legalMoves.add(new Move.PawnJump(board,
-                            this, candidateDestinationCoordinate));
-                }
-            } else if (currentCandidateOffset == 7 &&
-                    !((BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                    (BoardUtils.FIRST_COLUMN[this.piecePosition]) && this.pieceAlliance.isBlack()))) {
-                if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                    final Piece pieceOnTile = board.getTile(candidateDestinationCoordinate).getPiece();
-                    if (this.pieceAlliance != pieceOnTile.pieceAlliance) {
-                        if(this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                            addPawnPromotions(board, candidateDestinationCoordinate,
-                                    pieceOnTile, legalMoves);
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board,
-                                    this, candidateDestinationCoordinate, pieceOnTile));
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null) {
-                    if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition +
-                        this.pieceAlliance.getOppositeDirection())) {
-                        Piece pieceOnCandidate = board.getEnPassantPawn();
-                        if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                            legalMoves.add(new PawnEnPassantAttackMove(board,
-                                    this, candidateDestinationCoordinate, pieceOnCandidate));
-                        }
-                    }
-                }
-            } else if (currentCandidateOffset == 9 &&
-                    !((BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                    BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()))) {
-                if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                    final Piece pieceOnTile = board.getTile(candidateDestinationCoordinate).getPiece();
-                    if (this.pieceAlliance != pieceOnTile.pieceAlliance) {
-                        if(this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
-                            addPawnPromotions(board, candidateDestinationCoordinate,
-                                    pieceOnTile, legalMoves);
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board,
-                                    this, candidateDestinationCoordinate, pieceOnTile));
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null) {
-                    if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition -
-                        this.pieceAlliance.getOppositeDirection())) {
-                    final Piece pieceOnCandidate = board.getEnPassantPawn();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        //TODO work with promotion here
-                        legalMoves.add(new PawnEnPassantAttackMove(board,
-                                this, candidateDestinationCoordinate, pieceOnCandidate));
-                    }
-                }
+                    (BoardUtils.SECOND_RANK[this.piecePosition] && this.pieceAlliance.isWhite())) &&
+                    board.getPiece(jumpCoordinate) == null) {
+                legalMoves.add(new PawnJump(board, this, jumpCoordinate));
             }
+        }
+
+        final long attacks = AttackTables.pawnAttacks(this.pieceAlliance, this.piecePosition);
+        for (long targets = attacks & board.getBitBoard().getPieces(this.pieceAlliance.isWhite() ?
+                Alliance.BLACK : Alliance.WHITE); targets != 0L; targets = BitBoard.clearFirstSquare(targets)) {
+            final int candidateDestinationCoordinate = BitBoard.firstSquare(targets);
+            final Piece pieceOnTile = board.getPiece(candidateDestinationCoordinate);
+            if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
+                addPawnPromotions(board, candidateDestinationCoordinate, pieceOnTile, legalMoves);
+            } else {
+                legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnTile));
             }
         }
+
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null && enPassantPawn.getPieceAlliance() != this.pieceAlliance &&
+                (attacks & BitBoard.squareMask(board.getEnPassantSquare())) != 0L) {
+            legalMoves.add(new PawnEnPassantAttackMove(board, this, board.getEnPassantSquare(), enPassantPawn));
+        }
         return ImmutableList.copyOf(legalMoves);
     }
 
@@ -112,7 +69,7 @@ public class Pawn extends Piece {
 
     @Override
     public Pawn movePiece(Move move) {
-        return new Pawn(move.getDestinationCoordinate(), move.getMovedPiece().getPieceAlliance());
+        return PieceUtils.INSTANCE.getMovedPawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
     }
 
     private void addPawnPromotions(final Board board,
@@ -2,8 +2,12 @@ package com.chess.engine.pieces;
 
 import java.util.*;
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Board;
+import com.google.common.collect.ImmutableList;
+
+import static com.chess.engine.board.Move.*;
 
 public abstract class Piece {
     protected final PieceType pieceType;
@@ -70,6 +74,20 @@ public abstract class Piece {
 
     public abstract Collection<Move> calculateLegalMoves(final Board board);
 
+    protected Collection<Move> calculateMajorMoves(final Board board, final long attacks) {
+        long destinations = attacks & ~board.getBitBoard().getPieces(this.pieceAlliance);
+        final Move[] legalMoves = new Move[BitBoard.count(destinations)];
+        int i = 0;
+        for (; destinations != 0L; destinations = BitBoard.clearFirstSquare(destinations)) {
+            final int candidateDestinationCoordinate = BitBoard.firstSquare(destinations);
+            final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+            legalMoves[i++] = pieceAtDestination == null ?
+                    new MajorMove(board, this, candidateDestinationCoordinate) :
+                    new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination);
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
+
     public abstract Piece movePiece(final Move move);
 
     public enum PieceType {
@@ -14,9 +14,8 @@ import java.util.Collection;
 import java.util.List;
 
 public class BlackPlayer extends Player {
-    public BlackPlayer(final Board board, final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -35,8 +34,7 @@ public class BlackPlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(
-            final Collection<Move> playerLegals, final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
 
         if(this.playerKing.isFirstMove() && !this.isInCheck()) {
@@ -46,8 +44,8 @@ public class BlackPlayer extends Player {
                 final Tile rookTile = this.board.getTile(7);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if (Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(6, opponentLegals).isEmpty() &&
+                    if (!isTileAttacked(5) &&
+                            !isTileAttacked(6) &&
                             rookTile.getPiece().getPieceType().isRook()) {
                         //TODO- add a castle move
                         kingCastles.add(new KingSideCastleMove(this.board, this.playerKing,
@@ -58,15 +56,14 @@ public class BlackPlayer extends Player {
             }
 
             // black's queen side castle
-            if (this.board.getTile(3).isTileOccupied()
+            if (!this.board.getTile(3).isTileOccupied()
                     && !this.board.getTile(2).isTileOccupied()
                     && !this.board.getTile(1).isTileOccupied()) {
                 final Tile rookTile = this.board.getTile(0);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if (Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(1, opponentLegals).isEmpty() &&
+                    if (!isTileAttacked(3) &&
+                            !isTileAttacked(2) &&
                             rookTile.getPiece().getPieceType().isRook()) {
                         //TODO- add a castle move
                         kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing,
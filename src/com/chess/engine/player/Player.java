@@ -1,43 +1,44 @@
 package com.chess.engine.player;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimaps;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
+import static com.chess.engine.board.Move.*;
+
 public abstract class Player {
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
+    private final long checkers;
+    private final long pinnedPieces;
+
+    // computed on first use; a racing thread at worst repeats the same pure calculation
+    private Collection<Move> pseudoLegalMoves;
+    private Collection<Move> legalMoves;
+    // packed legal moves, sorted so membership is a binary search over ints rather than Move.equals calls
+    private int[] legalMoveKeys;
+    private ImmutableListMultimap<Integer, Move> legalMovesByOrigin;
 
-    public Player(final Board board, final Collection<Move> legalMoves,
-                  final Collection<Move> opponentMoves) {
+    public Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(
-                Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentMoves)));
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(),
-                opponentMoves).isEmpty();
-
-    }
-
-    protected static Collection<Move> calculateAttacksOnTile(
-            int piecePosition, Collection<Move> opponentMoves) {
-        final List<Move> attackMoves = new ArrayList<>();
-        for (final Move move : opponentMoves) {
-            if(piecePosition == move.getDestinationCoordinate()) {
-                attackMoves.add(move);
-            }
-        }
-        return ImmutableList.copyOf(attackMoves);
+        final Alliance opponent = getAlliance().isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final BitBoard bitBoard = board.getBitBoard();
+        this.checkers = bitBoard.attackersOf(this.playerKing.getPiecePosition(), opponent, bitBoard.getOccupied());
+        this.pinnedPieces = bitBoard.pinnedPieces(this.playerKing.getPiecePosition(), opponent);
     }
 
     private King establishKing() {
@@ -51,19 +52,40 @@ public abstract class Player {
     }
 
     public boolean isMoveLegal(final Move move) {
-        return this.legalMoves.contains(move);
+        int[] legalMoveKeys = this.legalMoveKeys;
+        if (legalMoveKeys == null) {
+            legalMoveKeys = calculateLegalMoveKeys();
+            this.legalMoveKeys = legalMoveKeys;
+        }
+        final int key = PackedMove.fromMove(move);
+        return key != PackedMove.NULL_MOVE && Arrays.binarySearch(legalMoveKeys, key) >= 0;
+    }
+
+    private int[] calculateLegalMoveKeys() {
+        final Collection<Move> legalMoves = getLegalMoves();
+        final int[] legalMoveKeys = new int[legalMoves.size()];
+        int i = 0;
+        for (final Move move : legalMoves) {
+            legalMoveKeys[i++] = PackedMove.fromMove(move);
+        }
+        Arrays.sort(legalMoveKeys);
+        return legalMoveKeys;
+    }
+
+    protected boolean isTileAttacked(final int tileCoordinate) {
+        return this.board.getBitBoard().isSquareAttacked(tileCoordinate, getOpponent().getAlliance());
     }
 
     public boolean isInCheck() {
-        return this.isInCheck;
+        return this.checkers != 0L;
     }
 
     public boolean isInCheckmate() {
-        return this.isInCheck && !hasEscapeMoves();
+        return isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isInStalemate() {
-        return !this.isInCheck && !hasEscapeMoves();
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     //TODO- more work here
@@ -73,23 +95,82 @@ public abstract class Player {
 
     public MoveTransition makeMove(final Move move) {
        if (!this.isMoveLegal(move)) {
-           return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
+           // the pseudo-legal moves only tell a move into check apart from one that is not a move at all
+           return new MoveTransition(this.board, move, getPseudoLegalMoves().contains(move) ?
+                   MoveStatus.LEAVES_PLAYER_IN_CHECK : MoveStatus.ILLEGAL_MOVE);
        }
 
-       final Board transitionBoard = move.execute();
+        return new MoveTransition(move.execute(), move, MoveStatus.DONE);
+    }
 
-       final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(
-               transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-               transitionBoard.currentPlayer().getLegalMoves());
-       if (!kingAttacks.isEmpty()) {
-           return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-       }
+    private boolean leavesPlayerInCheck(final Move move) {
+        final BitBoard bitBoard = this.board.getBitBoard();
+        final Alliance opponent = getOpponent().getAlliance();
+        final int kingCoordinate = this.playerKing.getPiecePosition();
+        final long fromMask = BitBoard.squareMask(move.getCurrentCoordinate());
+        final long destinationMask = BitBoard.squareMask(move.getDestinationCoordinate());
 
-        return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+        if (move.getMovedPiece().getPieceType().isKing()) {
+            return bitBoard.attackersOf(move.getDestinationCoordinate(), opponent,
+                    bitBoard.getOccupied() & ~fromMask) != 0L;
+        }
+        if (move instanceof PawnEnPassantAttackMove) {
+            final long capturedMask = BitBoard.squareMask(move.getAttackedPiece().getPiecePosition());
+            return (bitBoard.attackersOf(kingCoordinate, opponent,
+                    (bitBoard.getOccupied() & ~fromMask & ~capturedMask) | destinationMask) & ~capturedMask) != 0L;
+        }
+        if (BitBoard.count(this.checkers) > 1) {
+            return true;
+        }
+        if (this.checkers != 0L && (destinationMask & (this.checkers |
+                AttackTables.between(kingCoordinate, BitBoard.firstSquare(this.checkers)))) == 0L) {
+            return true;
+        }
+        return (this.pinnedPieces & fromMask) != 0L &&
+                (destinationMask & AttackTables.line(kingCoordinate, move.getCurrentCoordinate())) == 0L;
     }
 
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        Collection<Move> legalMoves = this.legalMoves;
+        if (legalMoves == null) {
+            final ImmutableList.Builder<Move> builder = ImmutableList.builder();
+            for (final Move move : getPseudoLegalMoves()) {
+                if (!leavesPlayerInCheck(move)) {
+                    builder.add(move);
+                }
+            }
+            legalMoves = builder.build();
+            this.legalMoves = legalMoves;
+        }
+        return legalMoves;
+    }
+
+    private Collection<Move> getPseudoLegalMoves() {
+        Collection<Move> pseudoLegalMoves = this.pseudoLegalMoves;
+        if (pseudoLegalMoves == null) {
+            pseudoLegalMoves = calculatePseudoLegalMoves();
+            this.pseudoLegalMoves = pseudoLegalMoves;
+        }
+        return pseudoLegalMoves;
+    }
+
+    public Collection<Move> getLegalMovesFrom(final int tileCoordinate) {
+        ImmutableListMultimap<Integer, Move> legalMovesByOrigin = this.legalMovesByOrigin;
+        if (legalMovesByOrigin == null) {
+            legalMovesByOrigin = Multimaps.index(getLegalMoves(), Move::getCurrentCoordinate);
+            this.legalMovesByOrigin = legalMovesByOrigin;
+        }
+        return legalMovesByOrigin.get(tileCoordinate);
+    }
+
+    private Collection<Move> calculatePseudoLegalMoves() {
+        final List<Move> pseudoLegalMoves = new ArrayList<>();
+
+        for (final Piece piece : getActivePieces()) {
+            pseudoLegalMoves.addAll(piece.calculateLegalMoves(this.board));
+        }
+        pseudoLegalMoves.addAll(calculateKingCastles());
+        return ImmutableList.copyOf(pseudoLegalMoves);
     }
 
     public Piece getPlayerKing() {
@@ -97,13 +178,7 @@ public abstract class Player {
     }
 
     protected boolean hasEscapeMoves() {
-        for (final Move move : this.legalMoves) {
-            final MoveTransition transition = makeMove(move);
-            if(transition.getMoveStatus().isDone()) {
-                return true;
-            }
-        }
-        return false;
+        return !getLegalMoves().isEmpty();
     }
 
     public abstract Collection<Piece> getActivePieces();
@@ -112,6 +187,5 @@ public abstract class Player {
 
     public abstract Player getOpponent();
 
-    protected abstract Collection<Move>
-    calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals);
+    protected abstract Collection<Move> calculateKingCastles();
 }
@@ -14,9 +14,8 @@ import java.util.Collection;
 import java.util.List;
 
 public class WhitePlayer extends Player {
-    public WhitePlayer(final Board board, final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+    public WhitePlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -35,8 +34,7 @@ public class WhitePlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(
-            final Collection<Move> playerLegals, final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
 
         if(this.playerKing.isFirstMove() && !this.isInCheck()) {
@@ -45,8 +43,8 @@ public class WhitePlayer extends Player {
                     !this.board.getTile(62).isTileOccupied()) {
                 final Tile rookTile = this.board.getTile(63);
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if (Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() &&
-                    Player.calculateAttacksOnTile(62, opponentLegals).isEmpty() &&
+                    if (!isTileAttacked(61) &&
+                    !isTileAttacked(62) &&
                     rookTile.getPiece().getPieceType().isRook()) {
                         kingCastles.add(new KingSideCastleMove(this.board, this.playerKing,
                                 62, (Rook) rookTile.getPiece(),
@@ -56,14 +54,14 @@ public class WhitePlayer extends Player {
             }
 
             // white's queen side castle
-            if (this.board.getTile(59).isTileOccupied()
+            if (!this.board.getTile(59).isTileOccupied()
                     && !this.board.getTile(58).isTileOccupied()
                         && !this.board.getTile(57).isTileOccupied()) {
                 final Tile rookTile = this.board.getTile(56);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if (Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() &&
+                    if (!isTileAttacked(58) &&
+                            !isTileAttacked(59) &&
                             rookTile.getPiece().getPieceType().isRook()) {
                         //TODO- add a castle move
                         kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing,
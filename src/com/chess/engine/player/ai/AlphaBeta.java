@@ -0,0 +1,145 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AlphaBeta implements MoveStrategy {
+    static final int INFINITY = Integer.MAX_VALUE;
+
+    private final BoardEvaluator boardEvaluator;
+    private final int depth;
+    private final List<SearchListener> searchListeners;
+    // the stop flag of every search in progress; all other search state is local to execute
+    private final Set<AtomicBoolean> runningSearches;
+
+    public AlphaBeta(final int depth) {
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.depth = depth;
+        this.searchListeners = new CopyOnWriteArrayList<>();
+        this.runningSearches = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public String toString() {
+        return "AlphaBeta";
+    }
+
+    @Override
+    public void addSearchListener(final SearchListener searchListener) {
+        this.searchListeners.add(searchListener);
+    }
+
+    @Override
+    public void removeSearchListener(final SearchListener searchListener) {
+        this.searchListeners.remove(searchListener);
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, new AtomicBoolean());
+    }
+
+    @Override
+    public SearchHandle search(final Board board) {
+        // the flag exists before the handle does, so stop() can never miss the search
+        final AtomicBoolean stopped = new AtomicBoolean();
+        return SearchHandle.start(() -> execute(board, stopped), () -> stopped.set(true));
+    }
+
+    @Override
+    public void stop() {
+        for (final AtomicBoolean stopped : this.runningSearches) {
+            stopped.set(true);
+        }
+    }
+
+    private Move execute(final Board board, final AtomicBoolean stopped) {
+        this.runningSearches.add(stopped);
+        try {
+            return searchRoot(board, stopped);
+        } finally {
+            this.runningSearches.remove(stopped);
+        }
+    }
+
+    private Move searchRoot(final Board board, final AtomicBoolean stopped) {
+        final long startTime = System.currentTimeMillis();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final MovePicker[] movePickers = MovePicker.createPlyPickers(this.depth + 1);
+        final LongAdder nodes = new LongAdder();
+        final MoveList moves = new MoveList();
+        searchBoard.generateMoves(moves);
+
+        Move bestMove = null;
+        int bestValue = -INFINITY;
+        for (int i = 0; i < moves.size(); i++) {
+            final Move move = PackedMove.toMove(board, moves.get(i));
+            if (move != null && searchBoard.makeMove(moves.get(i))) {
+                // a window one below the best keeps ties exact, so the last equal move wins as in MiniMax
+                final int currentValue = -negamax(searchBoard, this.boardEvaluator, movePickers, stopped, nodes,
+                        this.depth - 1, -INFINITY, bestValue == -INFINITY ? INFINITY : -(bestValue - 1));
+                searchBoard.unmakeMove();
+                if (stopped.get()) {
+                    // an interrupted move has no value; fall back on it only if nothing finished
+                    return bestMove != null ? bestMove : move;
+                }
+                if (currentValue >= bestValue) {
+                    bestValue = currentValue;
+                    bestMove = move;
+                }
+                report(new SearchInfo(this.depth, bestValue, nodes.sum(), System.currentTimeMillis() - startTime,
+                        0, ImmutableList.of(bestMove)));
+            }
+        }
+        return bestMove;
+    }
+
+    private void report(final SearchInfo searchInfo) {
+        for (final SearchListener searchListener : this.searchListeners) {
+            searchListener.onSearchInfo(searchInfo);
+        }
+    }
+
+    // a stopped search unwinds through static evaluations, whose values the caller discards
+    static int negamax(final SearchBoard board, final BoardEvaluator boardEvaluator, final MovePicker[] movePickers,
+                       final AtomicBoolean stopped, final LongAdder nodes, final int depth, int alpha,
+                       final int beta) {
+        nodes.increment();
+        if (depth == 0 || stopped.get() || !board.hasLegalMove()) {
+            final int value = boardEvaluator.evaluate(board, depth);
+            return board.getSideToMove().isWhite() ? value : -value;
+        }
+
+        int bestValue = -INFINITY;
+        final MovePicker movePicker = movePickers[depth];
+        movePicker.reset(board, PackedMove.NULL_MOVE, PackedMove.NULL_MOVE, PackedMove.NULL_MOVE);
+        for (int move = movePicker.nextMove(); move != PackedMove.NULL_MOVE; move = movePicker.nextMove()) {
+            if (board.makeMove(move)) {
+                final int currentValue = -negamax(board, boardEvaluator, movePickers, stopped, nodes, depth - 1,
+                        -beta, -alpha);
+                board.unmakeMove();
+                if (currentValue > bestValue) {
+                    bestValue = currentValue;
+                    if (currentValue > alpha) {
+                        alpha = currentValue;
+                        if (alpha >= beta) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return bestValue;
+    }
+}
@@ -0,0 +1,363 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.player.MoveTransition;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class IterativeDeepening implements MoveStrategy {
+    public static final int MAX_DEPTH = SearchWorker.MAX_DEPTH;
+
+    private final BoardEvaluator boardEvaluator;
+    private final int maxDepth;
+    // read when a search starts or a ponder hit adopts a run, so a game clock can be updated between moves
+    private volatile TimeControl timeControl;
+    private final TranspositionTable transpositionTable;
+    private final int threadCount;
+    private final List<SearchListener> searchListeners;
+    private volatile ImmutableList<Move> principalVariation;
+    private volatile int[] packedPrincipalVariation;
+    private volatile boolean selectivePruning;
+    // handed between the GUI thread, which ponders, and the search thread, which adopts or drops the run
+    private final AtomicReference<SearchRun> ponderRun;
+    private volatile SearchRun activeRun;
+
+    public IterativeDeepening(final TimeControl timeControl) {
+        this(SearchWorker.MAX_DEPTH, timeControl);
+    }
+
+    public IterativeDeepening(final int maxDepth, final TimeControl timeControl) {
+        this(maxDepth, timeControl, new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB));
+    }
+
+    public IterativeDeepening(final int maxDepth, final TimeControl timeControl,
+                              final TranspositionTable transpositionTable) {
+        this(maxDepth, timeControl, transpositionTable, 1);
+    }
+
+    public IterativeDeepening(final int maxDepth, final TimeControl timeControl,
+                              final TranspositionTable transpositionTable, final int threadCount) {
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.maxDepth = Math.min(maxDepth, SearchWorker.MAX_DEPTH);
+        this.timeControl = timeControl;
+        this.transpositionTable = transpositionTable;
+        this.threadCount = Math.max(1, threadCount);
+        this.searchListeners = new CopyOnWriteArrayList<>();
+        this.principalVariation = ImmutableList.of();
+        this.packedPrincipalVariation = new int[0];
+        this.selectivePruning = true;
+        this.ponderRun = new AtomicReference<>();
+    }
+
+    @Override
+    public String toString() {
+        return "IterativeDeepening";
+    }
+
+    public ImmutableList<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    public void setTimeControl(final TimeControl timeControl) {
+        this.timeControl = timeControl;
+    }
+
+    // on by default; off gives a full-width search to compare the pruned one against
+    public void setSelectivePruning(final boolean selectivePruning) {
+        this.selectivePruning = selectivePruning;
+    }
+
+    @Override
+    public void addSearchListener(final SearchListener searchListener) {
+        this.searchListeners.add(searchListener);
+    }
+
+    @Override
+    public void removeSearchListener(final SearchListener searchListener) {
+        this.searchListeners.remove(searchListener);
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final SearchRun searchRun = prepare(board);
+        return searchRun != null ? searchRun.complete(board) : null;
+    }
+
+    @Override
+    public SearchHandle search(final Board board) {
+        // the run exists before the handle does, so stop() can never miss it
+        final SearchRun searchRun = prepare(board);
+        return SearchHandle.start(() -> searchRun != null ? searchRun.complete(board) : null,
+                searchRun != null ? searchRun::stop : () -> { });
+    }
+
+    @Override
+    public void stop() {
+        final SearchRun searchRun = this.activeRun;
+        if (searchRun != null) {
+            searchRun.stop();
+        }
+    }
+
+    private SearchRun prepare(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        final SearchRun ponderRun = this.ponderRun.getAndSet(null);
+        if (ponderRun != null) {
+            if (ponderRun.board.zobristKey() == board.zobristKey()) {
+                // ponder hit: the running search gets a clock and starts reporting as the real search
+                ponderRun.setTimeLimits(startTime);
+                this.activeRun = ponderRun;
+                ponderRun.adopt();
+                return ponderRun;
+            }
+            // ponder miss: whatever it found stays in the transposition table
+            ponderRun.stop();
+        }
+
+        this.transpositionTable.newSearch();
+        this.principalVariation = ImmutableList.of();
+        final SearchRun searchRun = new SearchRun(board, true);
+        if (searchRun.searchWorker.getRootMoves().isEmpty()) {
+            return null;
+        }
+        // the caller may be the GUI thread, so the missed run is waited for on the search thread instead
+        searchRun.predecessor = ponderRun;
+        searchRun.setTimeLimits(startTime);
+        this.activeRun = searchRun;
+        return searchRun;
+    }
+
+    @Override
+    public boolean ponder(final Board board) {
+        stopPondering();
+        final int[] line = this.packedPrincipalVariation;
+        final Move expectedReply = line.length > 1 ? PackedMove.toMove(board, line[1]) : null;
+        if (expectedReply == null) {
+            return false;
+        }
+        final MoveTransition transition = board.currentPlayer().makeMove(expectedReply);
+        if (!transition.getMoveStatus().isDone()) {
+            return false;
+        }
+        this.transpositionTable.newSearch();
+        final SearchRun searchRun = new SearchRun(transition.getTransitionBoard(), false);
+        if (searchRun.searchWorker.getRootMoves().isEmpty()) {
+            return false;
+        }
+        // started first, so a search thread that adopts the run always finds it running
+        searchRun.start();
+        this.ponderRun.set(searchRun);
+        return true;
+    }
+
+    @Override
+    public void stopPondering() {
+        final SearchRun ponderRun = this.ponderRun.getAndSet(null);
+        if (ponderRun != null) {
+            ponderRun.stop();
+            ponderRun.awaitCompletion();
+        }
+    }
+
+    private static ImmutableList<Move> toMoves(final Board board, final int[] line) {
+        final ImmutableList.Builder<Move> builder = ImmutableList.builder();
+        Board currentBoard = board;
+        for (final int packedMove : line) {
+            final Move move = PackedMove.toMove(currentBoard, packedMove);
+            if (move == null) {
+                break;
+            }
+            final MoveTransition transition = currentBoard.currentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone()) {
+                break;
+            }
+            builder.add(move);
+            currentBoard = transition.getTransitionBoard();
+        }
+        return builder.build();
+    }
+
+    private static long deadline(final long startTime, final long limitMillis) {
+        return limitMillis > Long.MAX_VALUE - startTime ? Long.MAX_VALUE : startTime + limitMillis;
+    }
+
+    // one search of one position: the main worker, its Lazy SMP helpers and the clock they share
+    private final class SearchRun implements Runnable {
+        private final Board board;
+        private final SearchWorker searchWorker;
+        private final List<HelperThread> helpers;
+        private final long createdTime;
+        private volatile long softDeadline;
+        private Thread thread;
+        // a missed ponder run still winding down, which this run waits out before searching
+        private SearchRun predecessor;
+        // a ponder run keeps its results to itself until a ponder hit adopts it
+        private boolean adopted;
+        private int[] packedLine;
+        private SearchInfo searchInfo;
+
+        private SearchRun(final Board board, final boolean adopted) {
+            this.board = board;
+            this.adopted = adopted;
+            this.searchWorker = new SearchWorker(board, boardEvaluator, transpositionTable);
+            this.helpers = new ArrayList<>();
+            this.createdTime = System.currentTimeMillis();
+            this.softDeadline = Long.MAX_VALUE;
+            this.searchWorker.setSelectivePruning(selectivePruning);
+            for (int i = 1; i < threadCount && !this.searchWorker.getRootMoves().isEmpty(); i++) {
+                final SearchWorker helperWorker = new SearchWorker(board, boardEvaluator, transpositionTable);
+                helperWorker.setSelectivePruning(selectivePruning);
+                // odd helpers start one ply deeper so the threads stay out of step
+                this.helpers.add(new HelperThread(helperWorker, 1 + (i % 2), maxDepth, i));
+            }
+        }
+
+        private void setTimeLimits(final long startTime) {
+            // the next iteration usually costs more than all earlier ones together
+            this.softDeadline = deadline(startTime, timeControl.getSoftLimitMillis() / 2);
+            final long hardDeadline = deadline(startTime, timeControl.getHardLimitMillis());
+            this.searchWorker.setDeadline(hardDeadline);
+            for (final HelperThread helper : this.helpers) {
+                helper.searchWorker.setDeadline(hardDeadline);
+            }
+        }
+
+        private void start() {
+            this.thread = new Thread(this, "search-ponder");
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private void stop() {
+            this.searchWorker.stop();
+            for (final HelperThread helper : this.helpers) {
+                helper.searchWorker.stop();
+            }
+        }
+
+        private Move complete(final Board board) {
+            if (this.predecessor != null) {
+                this.predecessor.awaitCompletion();
+                this.predecessor = null;
+            }
+            if (this.thread != null) {
+                awaitCompletion();
+            } else {
+                run();
+            }
+            return getBestMove(board);
+        }
+
+        private void awaitCompletion() {
+            try {
+                if (this.thread != null) {
+                    this.thread.join();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            // Lazy SMP: helpers run their own iterative deepening and only share the transposition table
+            for (final HelperThread helper : this.helpers) {
+                helper.start();
+            }
+            try {
+                deepen();
+            } finally {
+                stop();
+                try {
+                    for (final HelperThread helper : this.helpers) {
+                        helper.join();
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void deepen() {
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                if (!this.searchWorker.searchRoot(depth)) {
+                    break;
+                }
+                final int[] line = this.searchWorker.getPrincipalVariation();
+                report(line, new SearchInfo(depth, this.searchWorker.getBestValue(), getNodes(),
+                        System.currentTimeMillis() - this.createdTime, transpositionTable.getHashFull(),
+                        toMoves(this.board, line)));
+                if (System.currentTimeMillis() >= this.softDeadline ||
+                        Math.abs(this.searchWorker.getBestValue()) >= SearchWorker.MATE_BOUND) {
+                    break;
+                }
+            }
+        }
+
+        private synchronized void report(final int[] line, final SearchInfo searchInfo) {
+            this.packedLine = line;
+            this.searchInfo = searchInfo;
+            if (this.adopted) {
+                publish();
+            }
+        }
+
+        private synchronized void adopt() {
+            this.adopted = true;
+            if (this.searchInfo != null) {
+                publish();
+            }
+        }
+
+        private void publish() {
+            packedPrincipalVariation = this.packedLine;
+            principalVariation = this.searchInfo.getPrincipalVariation();
+            for (final SearchListener searchListener : searchListeners) {
+                searchListener.onSearchInfo(this.searchInfo);
+            }
+        }
+
+        // helper counts are read without synchronisation, which is close enough for reporting
+        private long getNodes() {
+            long nodes = this.searchWorker.getNodes();
+            for (final HelperThread helper : this.helpers) {
+                nodes += helper.searchWorker.getNodes();
+            }
+            return nodes;
+        }
+
+        private Move getBestMove(final Board board) {
+            final int bestMove = this.searchWorker.getBestMove() != PackedMove.NULL_MOVE ?
+                    this.searchWorker.getBestMove() : this.searchWorker.getRootMoves().get(0);
+            return PackedMove.toMove(board, bestMove);
+        }
+    }
+
+    private static final class HelperThread extends Thread {
+        private final SearchWorker searchWorker;
+        private final int firstDepth;
+        private final int maxDepth;
+
+        private HelperThread(final SearchWorker searchWorker, final int firstDepth, final int maxDepth, final int id) {
+            super("search-helper-" + id);
+            this.searchWorker = searchWorker;
+            this.firstDepth = firstDepth;
+            this.maxDepth = maxDepth;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int depth = this.firstDepth;
+            while (depth <= this.maxDepth && this.searchWorker.searchRoot(depth)) {
+                depth++;
+            }
+        }
+    }
+}
@@ -2,16 +2,31 @@ package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveTransition;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 public class MiniMax implements MoveStrategy {
     private final BoardEvaluator boardEvaluator;
     private final int depth;
+    private final List<SearchListener> searchListeners;
+    // the stop flag of every search in progress; all other search state is local to execute
+    private final Set<AtomicBoolean> runningSearches;
 
     public MiniMax(final int depth) {
         // TODO change this
         this.boardEvaluator = new StandardBoardEvaluator();
         this.depth = depth;
+        this.searchListeners = new CopyOnWriteArrayList<>();
+        this.runningSearches = ConcurrentHashMap.newKeySet();
     }
 
     @Override
@@ -19,8 +34,44 @@ public class MiniMax implements MoveStrategy {
         return "MiniMax";
     }
 
+    @Override
+    public void addSearchListener(final SearchListener searchListener) {
+        this.searchListeners.add(searchListener);
+    }
+
+    @Override
+    public void removeSearchListener(final SearchListener searchListener) {
+        this.searchListeners.remove(searchListener);
+    }
+
     @Override
     public Move execute(Board board) {
+        return execute(board, new AtomicBoolean());
+    }
+
+    @Override
+    public SearchHandle search(final Board board) {
+        final AtomicBoolean stopped = new AtomicBoolean();
+        return SearchHandle.start(() -> execute(board, stopped), () -> stopped.set(true));
+    }
+
+    @Override
+    public void stop() {
+        for (final AtomicBoolean stopped : this.runningSearches) {
+            stopped.set(true);
+        }
+    }
+
+    private Move execute(final Board board, final AtomicBoolean stopped) {
+        this.runningSearches.add(stopped);
+        try {
+            return searchRoot(board, stopped);
+        } finally {
+            this.runningSearches.remove(stopped);
+        }
+    }
+
+    private Move searchRoot(final Board board, final AtomicBoolean stopped) {
         final long startTime = System.currentTimeMillis();
 
         Move bestMove = null;
@@ -29,16 +80,23 @@ public class MiniMax implements MoveStrategy {
         int lowestSeenValue = Integer.MAX_VALUE;
         int currentValue;
 
-        System.out.println(board.currentPlayer() + " EVALUATING at a depth of " + this.depth);
+        final SearchBoard searchBoard = new SearchBoard(board);
+        // plain minimax never cuts off, so each ply generates all its moves at once; ordering would buy nothing
+        final MoveList[] moveLists = MoveList.createPlyLists(this.depth + 1);
+        final LongAdder nodes = new LongAdder();
+        final MoveList moves = moveLists[this.depth];
+        searchBoard.generateMoves(moves);
 
-        int numMoves = board.currentPlayer().getLegalMoves().size();
-
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
+        for (int i = 0; i < moves.size(); i++) {
+            final Move move = PackedMove.toMove(board, moves.get(i));
+            if (move != null && searchBoard.makeMove(moves.get(i))) {
                 currentValue = board.currentPlayer().getAlliance().isWhite()
-                        ? min(moveTransition.getTransitionBoard(), this.depth-1)
-                        : max(moveTransition.getTransitionBoard(), this.depth-1);
+                        ? min(searchBoard, moveLists, stopped, nodes, this.depth-1)
+                        : max(searchBoard, moveLists, stopped, nodes, this.depth-1);
+                searchBoard.unmakeMove();
+                if (stopped.get()) {
+                    return bestMove != null ? bestMove : move;
+                }
 
                 if (board.currentPlayer().getAlliance().isWhite() && currentValue >= highestSeenValue) {
                     highestSeenValue = currentValue;
@@ -47,25 +105,36 @@ public class MiniMax implements MoveStrategy {
                     lowestSeenValue = currentValue;
                     bestMove = move;
                 }
+                // reported from the side to move, as the other strategies score their searches
+                final int score = board.currentPlayer().getAlliance().isWhite() ? highestSeenValue : -lowestSeenValue;
+                report(new SearchInfo(this.depth, score, nodes.sum(), System.currentTimeMillis() - startTime, 0,
+                        ImmutableList.of(bestMove)));
             }
         }
 
-        final long executionTime = System.currentTimeMillis() - startTime;
-
         return bestMove;
     }
 
-    public int min(final Board board, final int depth) {
+    private void report(final SearchInfo searchInfo) {
+        for (final SearchListener searchListener : this.searchListeners) {
+            searchListener.onSearchInfo(searchInfo);
+        }
+    }
 
-        if (depth == 0 /* || gameOver() */) {
+    private int min(final SearchBoard board, final MoveList[] moveLists, final AtomicBoolean stopped,
+                    final LongAdder nodes, final int depth) {
+        nodes.increment();
+        if (depth == 0 || stopped.get() || isGameOver(board)) {
             return this.boardEvaluator.evaluate(board, depth);
         }
 
         int lowestSeenValue = Integer.MAX_VALUE;
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = max(moveTransition.getTransitionBoard(), depth -1);
+        final MoveList moves = moveLists[depth];
+        board.generateMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (board.makeMove(moves.get(i))) {
+                final int currentValue = max(board, moveLists, stopped, nodes, depth -1);
+                board.unmakeMove();
                 if (currentValue <= lowestSeenValue) {
                     lowestSeenValue = currentValue;
                 }
@@ -74,21 +143,24 @@ public class MiniMax implements MoveStrategy {
         return lowestSeenValue;
     }
 
-    private static boolean isGameOver(final Board board) {
-        return board.currentPlayer().isInCheckmate()
-                || board.currentPlayer().isInStalemate();
+    private static boolean isGameOver(final SearchBoard board) {
+        return !board.hasLegalMove();
     }
 
-    public int max(final Board board, final int depth) {
-        if (depth == 0 || isGameOver(board)) {
+    private int max(final SearchBoard board, final MoveList[] moveLists, final AtomicBoolean stopped,
+                    final LongAdder nodes, final int depth) {
+        nodes.increment();
+        if (depth == 0 || stopped.get() || isGameOver(board)) {
             return this.boardEvaluator.evaluate(board, depth);
         }
 
         int highestSeenValue = Integer.MIN_VALUE;
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = min(moveTransition.getTransitionBoard(), depth -1);
+        final MoveList moves = moveLists[depth];
+        board.generateMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (board.makeMove(moves.get(i))) {
+                final int currentValue = min(board, moveLists, stopped, nodes, depth -1);
+                board.unmakeMove();
                 if (currentValue >= highestSeenValue) {
                     highestSeenValue = currentValue;
                 }
@@ -0,0 +1,60 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.PackedMove.*;
+
+public final class MoveHistory {
+    private static final int FROM_TO_KEYS = 64 * 64;
+    private static final int MAX_HISTORY = 1 << 20;
+
+    private final int[] killers;
+    private final int[] history;
+
+    public MoveHistory(final int maxPly) {
+        this.killers = new int[maxPly * 2];
+        this.history = new int[2 * FROM_TO_KEYS];
+    }
+
+    public int getFirstKiller(final int ply) {
+        return this.killers[ply * 2];
+    }
+
+    public int getSecondKiller(final int ply) {
+        return this.killers[ply * 2 + 1];
+    }
+
+    public int getHistoryScore(final int move) {
+        return this.history[historyIndex(move)];
+    }
+
+    public void updateCutoff(final int move, final int ply, final int depth) {
+        if (isCapture(move) || isPromotion(move)) {
+            return;
+        }
+        if (this.killers[ply * 2] != move) {
+            this.killers[ply * 2 + 1] = this.killers[ply * 2];
+            this.killers[ply * 2] = move;
+        }
+        final int index = historyIndex(move);
+        this.history[index] += depth * depth;
+        if (this.history[index] >= MAX_HISTORY) {
+            age();
+        }
+    }
+
+    public void age() {
+        for (int i = 0; i < this.history.length; i++) {
+            this.history[i] >>= 1;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(this.killers, NULL_MOVE);
+        Arrays.fill(this.history, 0);
+    }
+
+    private static int historyIndex(final int move) {
+        return alliance(pieceCode(move)).ordinal() * FROM_TO_KEYS + fromToKey(move);
+    }
+}
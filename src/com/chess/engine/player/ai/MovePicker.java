@@ -0,0 +1,160 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.SearchBoard;
+
+import static com.chess.engine.board.PackedMove.*;
+
+public final class MovePicker {
+
+    private enum Stage {
+        HASH_MOVE, GENERATE_CAPTURES, CAPTURES, FIRST_KILLER, SECOND_KILLER, GENERATE_QUIETS, QUIETS, DONE
+    }
+
+    private final MoveList captures;
+    private final MoveList quiets;
+    private final MoveHistory moveHistory;
+    private SearchBoard board;
+    private int hashMove;
+    private int firstKiller;
+    private int secondKiller;
+    private Stage stage;
+    private int index;
+    private boolean capturesOnly;
+
+    public MovePicker() {
+        this(null);
+    }
+
+    public MovePicker(final MoveHistory moveHistory) {
+        this.captures = new MoveList();
+        this.quiets = new MoveList();
+        this.moveHistory = moveHistory;
+        this.stage = Stage.DONE;
+    }
+
+    public static MovePicker[] createPlyPickers(final int maxPly) {
+        return createPlyPickers(maxPly, null);
+    }
+
+    public static MovePicker[] createPlyPickers(final int maxPly, final MoveHistory moveHistory) {
+        final MovePicker[] movePickers = new MovePicker[maxPly];
+        for (int i = 0; i < maxPly; i++) {
+            movePickers[i] = new MovePicker(moveHistory);
+        }
+        return movePickers;
+    }
+
+    public void reset(final SearchBoard board, final int hashMove, final int firstKiller, final int secondKiller) {
+        this.board = board;
+        this.hashMove = hashMove;
+        this.firstKiller = firstKiller;
+        this.secondKiller = secondKiller;
+        this.stage = Stage.HASH_MOVE;
+        this.index = 0;
+        this.capturesOnly = false;
+    }
+
+    public void resetCaptures(final SearchBoard board) {
+        this.board = board;
+        this.hashMove = NULL_MOVE;
+        this.firstKiller = NULL_MOVE;
+        this.secondKiller = NULL_MOVE;
+        this.stage = Stage.GENERATE_CAPTURES;
+        this.index = 0;
+        this.capturesOnly = true;
+    }
+
+    public int nextMove() {
+        while (true) {
+            switch (this.stage) {
+                case HASH_MOVE:
+                    this.stage = Stage.GENERATE_CAPTURES;
+                    if (this.board.isPseudoLegal(this.hashMove)) {
+                        return this.hashMove;
+                    }
+                    break;
+                case GENERATE_CAPTURES:
+                    this.board.generateCaptures(this.captures);
+                    this.index = 0;
+                    this.stage = Stage.CAPTURES;
+                    break;
+                case CAPTURES:
+                    while (this.index < this.captures.size()) {
+                        final int move = pickBestCapture(this.index++);
+                        if (move != this.hashMove) {
+                            return move;
+                        }
+                    }
+                    this.stage = this.capturesOnly ? Stage.DONE : Stage.FIRST_KILLER;
+                    break;
+                case FIRST_KILLER:
+                    this.stage = Stage.SECOND_KILLER;
+                    if (isUsableKiller(this.firstKiller)) {
+                        return this.firstKiller;
+                    }
+                    break;
+                case SECOND_KILLER:
+                    this.stage = Stage.GENERATE_QUIETS;
+                    if (this.secondKiller != this.firstKiller && isUsableKiller(this.secondKiller)) {
+                        return this.secondKiller;
+                    }
+                    break;
+                case GENERATE_QUIETS:
+                    this.board.generateQuiets(this.quiets);
+                    this.index = 0;
+                    this.stage = Stage.QUIETS;
+                    break;
+                case QUIETS:
+                    while (this.index < this.quiets.size()) {
+                        final int move = this.moveHistory != null ?
+                                pickBestQuiet(this.index++) : this.quiets.get(this.index++);
+                        if (move != this.hashMove && move != this.firstKiller && move != this.secondKiller) {
+                            return move;
+                        }
+                    }
+                    this.stage = Stage.DONE;
+                    break;
+                default:
+                    return NULL_MOVE;
+            }
+        }
+    }
+
+    private boolean isUsableKiller(final int killer) {
+        return killer != this.hashMove && !isCapture(killer) && !isPromotion(killer) &&
+                this.board.isPseudoLegal(killer);
+    }
+
+    private int pickBestCapture(final int from) {
+        int best = from;
+        for (int i = from + 1; i < this.captures.size(); i++) {
+            if (captureScore(this.captures.get(i)) > captureScore(this.captures.get(best))) {
+                best = i;
+            }
+        }
+        this.captures.swap(from, best);
+        return this.captures.get(from);
+    }
+
+    private int pickBestQuiet(final int from) {
+        int best = from;
+        int bestScore = this.moveHistory.getHistoryScore(this.quiets.get(from));
+        for (int i = from + 1; i < this.quiets.size(); i++) {
+            final int score = this.moveHistory.getHistoryScore(this.quiets.get(i));
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        this.quiets.swap(from, best);
+        return this.quiets.get(from);
+    }
+
+    // most valuable victim first, least valuable attacker breaking ties
+    private static int captureScore(final int move) {
+        final int victim = isCapture(move) ? pieceType(capturedCode(move)).getPieceValue() : 0;
+        final int promotion = isPromotion(move) ? promotionType(move).getPieceValue() : 0;
+        return victim + promotion - pieceType(pieceCode(move)).ordinal();
+    }
+}
@@ -5,4 +5,28 @@ import com.chess.engine.board.Move;
 
 public interface MoveStrategy {
     Move execute(Board board);
+
+    // runs execute on its own thread; strategies that can end early override stop
+    default SearchHandle search(Board board) {
+        return SearchHandle.start(() -> execute(board), this::stop);
+    }
+
+    // ends the searches this strategy is running; one that cannot end early keeps the no-op and runs to the end
+    default void stop() {
+    }
+
+    // listeners hear about the search's progress on the search thread; a strategy that reports nothing ignores them
+    default void addSearchListener(SearchListener searchListener) {
+    }
+
+    default void removeSearchListener(SearchListener searchListener) {
+    }
+
+    // called with the position after our move, while the opponent thinks; true if a ponder search started
+    default boolean ponder(Board board) {
+        return false;
+    }
+
+    default void stopPondering() {
+    }
 }
@@ -0,0 +1,240 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.chess.engine.player.ai.AlphaBeta.INFINITY;
+
+// the shared bound is re-read before each reply to a root move, so running siblings tighten their
+// windows as soon as a better root move finishes; deeper nodes keep the window they started with
+public class ParallelAlphaBeta implements MoveStrategy {
+    // below any real score, so a root move cut short by stop() never looks best
+    private static final int NOT_SEARCHED = Integer.MIN_VALUE;
+
+    private final BoardEvaluator boardEvaluator;
+    private final int depth;
+    private final ForkJoinPool forkJoinPool;
+    // one set per root move being searched at once; a task takes a set and hands it back when done
+    private final Queue<MovePicker[]> sparePickers;
+    private final List<SearchListener> searchListeners;
+    // the stop flag of every search in progress; all other search state lives in its RootSearch
+    private final Set<AtomicBoolean> runningSearches;
+
+    public ParallelAlphaBeta(final int depth) {
+        this(depth, ForkJoinPool.commonPool());
+    }
+
+    // the pool belongs to the caller, who shuts it down
+    public ParallelAlphaBeta(final int depth, final ForkJoinPool forkJoinPool) {
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.depth = depth;
+        this.forkJoinPool = forkJoinPool;
+        this.sparePickers = new ConcurrentLinkedQueue<>();
+        this.searchListeners = new CopyOnWriteArrayList<>();
+        this.runningSearches = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelAlphaBeta";
+    }
+
+    @Override
+    public void addSearchListener(final SearchListener searchListener) {
+        this.searchListeners.add(searchListener);
+    }
+
+    @Override
+    public void removeSearchListener(final SearchListener searchListener) {
+        this.searchListeners.remove(searchListener);
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, new AtomicBoolean());
+    }
+
+    @Override
+    public SearchHandle search(final Board board) {
+        final AtomicBoolean stopped = new AtomicBoolean();
+        return SearchHandle.start(() -> execute(board, stopped), () -> stopped.set(true));
+    }
+
+    @Override
+    public void stop() {
+        for (final AtomicBoolean stopped : this.runningSearches) {
+            stopped.set(true);
+        }
+    }
+
+    private Move execute(final Board board, final AtomicBoolean stopped) {
+        this.runningSearches.add(stopped);
+        try {
+            return searchRoot(board, stopped);
+        } finally {
+            this.runningSearches.remove(stopped);
+        }
+    }
+
+    private Move searchRoot(final Board board, final AtomicBoolean stopped) {
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final MoveList moves = new MoveList();
+        searchBoard.generateMoves(moves);
+        final List<Move> rootMoves = new ArrayList<>();
+        final MoveList packedRootMoves = new MoveList();
+        for (int i = 0; i < moves.size(); i++) {
+            final Move move = PackedMove.toMove(board, moves.get(i));
+            if (move != null && searchBoard.makeMove(moves.get(i))) {
+                searchBoard.unmakeMove();
+                rootMoves.add(move);
+                packedRootMoves.add(moves.get(i));
+            }
+        }
+        if (rootMoves.isEmpty()) {
+            return null;
+        }
+
+        final RootSearch rootSearch = new RootSearch(board, rootMoves, packedRootMoves, stopped);
+        this.forkJoinPool.invoke(new RootSplitTask(rootSearch));
+        return rootMoves.get(rootSearch.bestIndex());
+    }
+
+    private void report(final SearchInfo searchInfo) {
+        for (final SearchListener searchListener : this.searchListeners) {
+            searchListener.onSearchInfo(searchInfo);
+        }
+    }
+
+    // what the tasks of one search share; values are written under the lock and read after the pool returns
+    private final class RootSearch {
+        private final long startTime;
+        private final Board board;
+        private final List<Move> rootMoves;
+        private final MoveList packedRootMoves;
+        private final int[] values;
+        private final AtomicInteger alpha;
+        private final AtomicBoolean stopped;
+        private final LongAdder nodes;
+
+        private RootSearch(final Board board, final List<Move> rootMoves, final MoveList packedRootMoves,
+                           final AtomicBoolean stopped) {
+            this.startTime = System.currentTimeMillis();
+            this.board = board;
+            this.rootMoves = rootMoves;
+            this.packedRootMoves = packedRootMoves;
+            this.values = new int[rootMoves.size()];
+            Arrays.fill(this.values, NOT_SEARCHED);
+            this.alpha = new AtomicInteger(-INFINITY);
+            this.stopped = stopped;
+            this.nodes = new LongAdder();
+        }
+
+        private synchronized void finish(final int index, final int value) {
+            this.values[index] = value;
+            this.alpha.accumulateAndGet(value, Math::max);
+            final int best = bestIndex();
+            report(new SearchInfo(depth, this.values[best], this.nodes.sum(),
+                    System.currentTimeMillis() - this.startTime, 0, ImmutableList.of(this.rootMoves.get(best))));
+        }
+
+        // the last of equally scored moves wins, as in AlphaBeta and MiniMax
+        private synchronized int bestIndex() {
+            int best = 0;
+            for (int i = 1; i < this.values.length; i++) {
+                if (this.values[i] != NOT_SEARCHED && this.values[i] >= this.values[best]) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+    }
+
+    // Young Brothers Wait at the root: the first move sets a bound before its siblings are forked
+    @SuppressWarnings("serial") // fork/join tasks are never serialised
+    private final class RootSplitTask extends RecursiveAction {
+        private final RootSearch rootSearch;
+
+        private RootSplitTask(final RootSearch rootSearch) {
+            this.rootSearch = rootSearch;
+        }
+
+        @Override
+        protected void compute() {
+            new RootMoveTask(this.rootSearch, 0).invoke();
+            final List<RootMoveTask> siblings = new ArrayList<>();
+            for (int i = 1; i < this.rootSearch.packedRootMoves.size(); i++) {
+                siblings.add(new RootMoveTask(this.rootSearch, i));
+            }
+            invokeAll(siblings);
+        }
+    }
+
+    @SuppressWarnings("serial") // fork/join tasks are never serialised
+    private final class RootMoveTask extends RecursiveAction {
+        private final RootSearch rootSearch;
+        private final int index;
+
+        private RootMoveTask(final RootSearch rootSearch, final int index) {
+            this.rootSearch = rootSearch;
+            this.index = index;
+        }
+
+        @Override
+        protected void compute() {
+            final SearchBoard searchBoard = new SearchBoard(this.rootSearch.board);
+            final MovePicker[] spare = sparePickers.poll();
+            final MovePicker[] movePickers = spare != null ? spare : MovePicker.createPlyPickers(depth + 1);
+            searchBoard.makeMove(this.rootSearch.packedRootMoves.get(this.index));
+            final int value = depth > 1 && searchBoard.hasLegalMove() ?
+                    -searchReplies(searchBoard, movePickers) :
+                    -AlphaBeta.negamax(searchBoard, boardEvaluator, movePickers, this.rootSearch.stopped,
+                            this.rootSearch.nodes, depth - 1, -INFINITY, INFINITY);
+            sparePickers.add(movePickers);
+            if (this.rootSearch.stopped.get()) {
+                return;
+            }
+            this.rootSearch.finish(this.index, value);
+        }
+
+        // the opponent's side of AlphaBeta.negamax, with beta following the shared bound
+        private int searchReplies(final SearchBoard searchBoard, final MovePicker[] movePickers) {
+            this.rootSearch.nodes.increment();
+            int bestValue = -INFINITY;
+            final MovePicker movePicker = movePickers[depth - 1];
+            movePicker.reset(searchBoard, PackedMove.NULL_MOVE, PackedMove.NULL_MOVE, PackedMove.NULL_MOVE);
+            for (int reply = movePicker.nextMove(); reply != PackedMove.NULL_MOVE; reply = movePicker.nextMove()) {
+                // a window one below the shared bound keeps every move that ties the best exact
+                final int bound = this.rootSearch.alpha.get();
+                final int beta = bound == -INFINITY ? INFINITY : -(bound - 1);
+                if (bestValue >= beta) {
+                    break;
+                }
+                if (searchBoard.makeMove(reply)) {
+                    final int currentValue = -AlphaBeta.negamax(searchBoard, boardEvaluator, movePickers,
+                            this.rootSearch.stopped, this.rootSearch.nodes, depth - 2, -beta, -bestValue);
+                    searchBoard.unmakeMove();
+                    bestValue = Math.max(bestValue, currentValue);
+                }
+            }
+            return bestValue;
+        }
+    }
+}
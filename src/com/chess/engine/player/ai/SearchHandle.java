@@ -0,0 +1,71 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+public final class SearchHandle implements Future<Move> {
+    private final CompletableFuture<Move> result;
+    private final Runnable stopAction;
+
+    private SearchHandle(final CompletableFuture<Move> result, final Runnable stopAction) {
+        this.result = result;
+        this.stopAction = stopAction;
+    }
+
+    static SearchHandle start(final Supplier<Move> search, final Runnable stopAction) {
+        final CompletableFuture<Move> result = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                result.complete(search.get());
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }, "search");
+        thread.setDaemon(true);
+        thread.start();
+        return new SearchHandle(result, stopAction);
+    }
+
+    // ends the search early; the handle still completes, with the best move of the finished part of the
+    // search or, when not even one root move was searched through, some legal move
+    public void stop() {
+        this.stopAction.run();
+    }
+
+    public CompletableFuture<Move> toCompletableFuture() {
+        return this.result;
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        stop();
+        return this.result.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return this.result.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.result.isDone();
+    }
+
+    @Override
+    public Move get() throws InterruptedException, ExecutionException {
+        return this.result.get();
+    }
+
+    @Override
+    public Move get(final long timeout, final TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return this.result.get(timeout, unit);
+    }
+}
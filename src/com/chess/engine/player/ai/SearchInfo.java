@@ -0,0 +1,59 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+public final class SearchInfo {
+    private final int depth;
+    private final int score;
+    private final long nodes;
+    private final long elapsedMillis;
+    private final int hashFull;
+    private final ImmutableList<Move> principalVariation;
+
+    public SearchInfo(final int depth, final int score, final long nodes, final long elapsedMillis,
+                      final int hashFull, final ImmutableList<Move> principalVariation) {
+        this.depth = depth;
+        this.score = score;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+        this.hashFull = hashFull;
+        this.principalVariation = principalVariation;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return this.nodes * 1000 / Math.max(1, this.elapsedMillis);
+    }
+
+    // permille of the transposition table written by this search
+    public int getHashFull() {
+        return this.hashFull;
+    }
+
+    public ImmutableList<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth + " score " + this.score + " nodes " + this.nodes +
+                " nps " + getNodesPerSecond() + " time " + this.elapsedMillis + "ms hashfull " + this.hashFull +
+                " pv " + this.principalVariation;
+    }
+}
@@ -0,0 +1,383 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.PackedMove.*;
+import static com.chess.engine.player.ai.TranspositionTable.BOUND_EXACT;
+import static com.chess.engine.player.ai.TranspositionTable.BOUND_LOWER;
+import static com.chess.engine.player.ai.TranspositionTable.BOUND_UPPER;
+import static com.chess.engine.player.ai.TranspositionTable.NO_ENTRY;
+
+final class SearchWorker {
+    static final int MAX_DEPTH = 64;
+    static final int INFINITY = Integer.MAX_VALUE;
+    static final int MATE_VALUE = 30_000_000;
+    static final int MATE_BOUND = MATE_VALUE - MAX_DEPTH;
+
+    private static final int NODES_BETWEEN_TIME_CHECKS = 2048;
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int LMR_MIN_DEPTH = 3;
+    private static final int LMR_FULL_DEPTH_MOVES = 3;
+    private static final int ASPIRATION_MIN_DEPTH = 4;
+    private static final int ASPIRATION_WINDOW = 50;
+    private static final int DELTA_MARGIN = 200 * StandardBoardEvaluator.PIECE_VALUE_SCALE;
+
+    private final SearchBoard board;
+    private final BoardEvaluator boardEvaluator;
+    private final TranspositionTable transpositionTable;
+    private final MoveList rootMoves;
+    private final MoveHistory moveHistory;
+    private final MovePicker[] movePickers;
+    private final int[] pvTable;
+    private final int[] pvLength;
+    private volatile long deadline;
+    private volatile boolean stopped;
+    private boolean selectivePruning;
+    private long nodes;
+    private int bestMove;
+    private int bestValue;
+
+    SearchWorker(final Board board, final BoardEvaluator boardEvaluator, final TranspositionTable transpositionTable) {
+        this.board = new SearchBoard(board);
+        this.boardEvaluator = boardEvaluator;
+        this.transpositionTable = transpositionTable;
+        this.rootMoves = new MoveList();
+        this.moveHistory = new MoveHistory(MAX_DEPTH + 1);
+        this.movePickers = MovePicker.createPlyPickers(MAX_DEPTH + 1, this.moveHistory);
+        this.pvTable = new int[(MAX_DEPTH + 1) * (MAX_DEPTH + 1)];
+        this.pvLength = new int[MAX_DEPTH + 1];
+        this.deadline = Long.MAX_VALUE;
+        this.selectivePruning = true;
+        this.bestMove = NULL_MOVE;
+
+        // only keep root moves the immutable board can replay
+        final MoveList moves = new MoveList();
+        this.board.generateMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedMove.toMove(board, moves.get(i)) != null && this.board.makeMove(moves.get(i))) {
+                this.board.unmakeMove();
+                this.rootMoves.add(moves.get(i));
+            }
+        }
+    }
+
+    void setDeadline(final long deadline) {
+        this.deadline = deadline;
+    }
+
+    // null-move pruning and late move reductions; without them the search is full width to the horizon
+    void setSelectivePruning(final boolean selectivePruning) {
+        this.selectivePruning = selectivePruning;
+    }
+
+    void stop() {
+        this.stopped = true;
+    }
+
+    boolean isStopped() {
+        return this.stopped;
+    }
+
+    long getNodes() {
+        return this.nodes;
+    }
+
+    int getBestMove() {
+        return this.bestMove;
+    }
+
+    int getBestValue() {
+        return this.bestValue;
+    }
+
+    MoveList getRootMoves() {
+        return this.rootMoves;
+    }
+
+    int[] getPrincipalVariation() {
+        return Arrays.copyOf(this.pvTable, this.pvLength[0]);
+    }
+
+    boolean searchRoot(final int depth) {
+        int delta = ASPIRATION_WINDOW;
+        int alpha = -INFINITY;
+        int beta = INFINITY;
+        if (depth >= ASPIRATION_MIN_DEPTH && Math.abs(this.bestValue) < MATE_BOUND) {
+            alpha = this.bestValue - delta;
+            beta = this.bestValue + delta;
+        }
+        while (true) {
+            final int value = searchRoot(depth, alpha, beta);
+            if (this.stopped) {
+                return false;
+            }
+            // widen the window on the failing side until the score lands inside it
+            if (value <= alpha) {
+                alpha = value - delta <= -MATE_VALUE ? -INFINITY : value - delta;
+            } else if (value >= beta) {
+                beta = value + delta >= MATE_VALUE ? INFINITY : value + delta;
+            } else {
+                break;
+            }
+            delta *= 4;
+        }
+        this.transpositionTable.store(this.board.zobristKey(), this.bestMove, this.bestValue, depth, BOUND_EXACT);
+        return true;
+    }
+
+    private int searchRoot(final int depth, int alpha, final int beta) {
+        moveToFront(this.bestMove);
+        this.pvLength[0] = 0;
+        int bestValue = -INFINITY;
+        for (int i = 0; i < this.rootMoves.size(); i++) {
+            final int move = this.rootMoves.get(i);
+            this.board.makeMove(move);
+            int value;
+            if (i == 0) {
+                value = -negamax(depth - 1, 1, -beta, -alpha, true);
+            } else {
+                value = -negamax(depth - 1, 1, -alpha - 1, -alpha, true);
+                if (value > alpha && value < beta && !this.stopped) {
+                    value = -negamax(depth - 1, 1, -beta, -alpha, true);
+                }
+            }
+            this.board.unmakeMove();
+            if (this.stopped) {
+                return bestValue;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                if (value > alpha) {
+                    alpha = value;
+                    this.bestMove = move;
+                    this.bestValue = value;
+                    updatePrincipalVariation(0, move);
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return bestValue;
+    }
+
+    private int negamax(final int depth, final int ply, int alpha, final int beta, final boolean allowNullMove) {
+        if (depth <= 0) {
+            return quiescence(ply, alpha, beta);
+        }
+        this.pvLength[ply] = ply;
+        if (checkStop()) {
+            return 0;
+        }
+        if (ply >= MAX_DEPTH) {
+            return evaluate(depth);
+        }
+
+        final boolean isPvNode = beta > alpha + 1;
+        final long key = this.board.zobristKey();
+        final long entry = this.transpositionTable.probe(key);
+        int hashMove = NULL_MOVE;
+        if (entry != NO_ENTRY) {
+            hashMove = TranspositionTable.move(entry);
+            if (!isPvNode && TranspositionTable.depth(entry) >= depth) {
+                final int value = valueFromTable(TranspositionTable.value(entry), ply);
+                final int bound = TranspositionTable.bound(entry);
+                if (bound == BOUND_EXACT ||
+                        (bound == BOUND_LOWER && value >= beta) ||
+                        (bound == BOUND_UPPER && value <= alpha)) {
+                    return value;
+                }
+            }
+        }
+
+        final boolean isInCheck = this.board.isInCheck();
+        // pawn-only sides are the usual zugzwang cases, so they never pass
+        if (this.selectivePruning && allowNullMove && !isPvNode && !isInCheck && depth >= NULL_MOVE_MIN_DEPTH &&
+                beta < MATE_BOUND && this.board.hasNonPawnMaterial(this.board.getSideToMove()) &&
+                evaluate(depth) >= beta) {
+            final int reduction = depth > 6 ? 3 : 2;
+            this.board.makeNullMove();
+            final int nullValue = -negamax(depth - 1 - reduction, ply + 1, -beta, -beta + 1, false);
+            this.board.unmakeNullMove();
+            if (this.stopped) {
+                return 0;
+            }
+            // a reduced search without the null move verifies the cutoff
+            if (nullValue >= beta && negamax(depth - reduction, ply, beta - 1, beta, false) >= beta) {
+                return nullValue >= MATE_BOUND ? beta : nullValue;
+            }
+            this.pvLength[ply] = ply;
+        }
+
+        final int originalAlpha = alpha;
+        final int firstKiller = this.moveHistory.getFirstKiller(ply);
+        final int secondKiller = this.moveHistory.getSecondKiller(ply);
+        int bestValue = -INFINITY;
+        int bestMove = NULL_MOVE;
+        int legalMoves = 0;
+        final MovePicker movePicker = this.movePickers[ply];
+        movePicker.reset(this.board, hashMove, firstKiller, secondKiller);
+        for (int move = movePicker.nextMove(); move != NULL_MOVE; move = movePicker.nextMove()) {
+            if (!this.board.makeMove(move)) {
+                continue;
+            }
+            legalMoves++;
+            int value;
+            if (legalMoves == 1) {
+                value = -negamax(depth - 1, ply + 1, -beta, -alpha, true);
+            } else {
+                // later moves only have to prove they are no better than alpha
+                int reduction = 0;
+                if (this.selectivePruning && legalMoves > LMR_FULL_DEPTH_MOVES && depth >= LMR_MIN_DEPTH &&
+                        !isInCheck && !isCapture(move) && !isPromotion(move) && move != firstKiller &&
+                        move != secondKiller && !this.board.isInCheck()) {
+                    reduction = legalMoves > 2 * LMR_FULL_DEPTH_MOVES && depth >= 6 ? 2 : 1;
+                }
+                value = -negamax(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, true);
+                if (value > alpha && reduction > 0 && !this.stopped) {
+                    value = -negamax(depth - 1, ply + 1, -alpha - 1, -alpha, true);
+                }
+                if (value > alpha && value < beta && !this.stopped) {
+                    value = -negamax(depth - 1, ply + 1, -beta, -alpha, true);
+                }
+            }
+            this.board.unmakeMove();
+            if (value > bestValue) {
+                bestValue = value;
+                if (value > alpha) {
+                    alpha = value;
+                    bestMove = move;
+                    updatePrincipalVariation(ply, move);
+                    if (alpha >= beta) {
+                        this.moveHistory.updateCutoff(move, ply, depth);
+                        break;
+                    }
+                }
+            }
+        }
+        if (this.stopped) {
+            return 0;
+        }
+        if (legalMoves == 0) {
+            return isInCheck ? -MATE_VALUE + ply : 0;
+        }
+
+        final int bound = bestValue >= beta ? BOUND_LOWER : bestValue > originalAlpha ? BOUND_EXACT : BOUND_UPPER;
+        this.transpositionTable.store(key, bestMove, valueToTable(bestValue, ply), depth, bound);
+        return bestValue;
+    }
+
+    // only captures and promotions are searched below the horizon, unless in check
+    private int quiescence(final int ply, int alpha, final int beta) {
+        this.pvLength[ply] = ply;
+        if (checkStop()) {
+            return 0;
+        }
+        if (ply >= MAX_DEPTH) {
+            return evaluate(0);
+        }
+        final boolean isInCheck = this.board.isInCheck();
+
+        int bestValue = -INFINITY;
+        final MovePicker movePicker = this.movePickers[ply];
+        if (isInCheck) {
+            movePicker.reset(this.board, NULL_MOVE, NULL_MOVE, NULL_MOVE);
+        } else {
+            bestValue = evaluate(0);
+            if (bestValue >= beta) {
+                return bestValue;
+            }
+            alpha = Math.max(alpha, bestValue);
+            movePicker.resetCaptures(this.board);
+        }
+
+        int legalMoves = 0;
+        for (int move = movePicker.nextMove(); move != NULL_MOVE; move = movePicker.nextMove()) {
+            if (!isInCheck && bestValue + materialGain(move) + DELTA_MARGIN <= alpha) {
+                continue;
+            }
+            if (!this.board.makeMove(move)) {
+                continue;
+            }
+            legalMoves++;
+            final int value = -quiescence(ply + 1, -beta, -alpha);
+            this.board.unmakeMove();
+            if (value > bestValue) {
+                bestValue = value;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (isInCheck && legalMoves == 0 && !this.stopped) {
+            return -MATE_VALUE + ply;
+        }
+        return bestValue;
+    }
+
+    // triangular PV table: row ply holds the best line from ply onwards
+    private void updatePrincipalVariation(final int ply, final int move) {
+        final int row = ply * (MAX_DEPTH + 1);
+        final int childRow = row + MAX_DEPTH + 1;
+        this.pvTable[row + ply] = move;
+        for (int i = ply + 1; i < this.pvLength[ply + 1]; i++) {
+            this.pvTable[row + i] = this.pvTable[childRow + i];
+        }
+        this.pvLength[ply] = this.pvLength[ply + 1];
+    }
+
+    private boolean checkStop() {
+        if ((++this.nodes % NODES_BETWEEN_TIME_CHECKS) == 0 && System.currentTimeMillis() >= this.deadline) {
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    private static int materialGain(final int move) {
+        int gain = isCapture(move) ? pieceType(capturedCode(move)).getPieceValue() : 0;
+        if (isPromotion(move)) {
+            gain += promotionType(move).getPieceValue() - PieceType.PAWN.getPieceValue();
+        }
+        return gain * StandardBoardEvaluator.PIECE_VALUE_SCALE;
+    }
+
+    // mate scores are stored relative to the node so they stay valid at any ply
+    private static int valueToTable(final int value, final int ply) {
+        if (value >= MATE_BOUND) {
+            return value + ply;
+        }
+        return value <= -MATE_BOUND ? value - ply : value;
+    }
+
+    private static int valueFromTable(final int value, final int ply) {
+        if (value >= MATE_BOUND) {
+            return value - ply;
+        }
+        return value <= -MATE_BOUND ? value + ply : value;
+    }
+
+    private int evaluate(final int depth) {
+        final int value = this.boardEvaluator.evaluate(this.board, depth);
+        return this.board.getSideToMove().isWhite() ? value : -value;
+    }
+
+    private void moveToFront(final int move) {
+        for (int i = 0; i < this.rootMoves.size(); i++) {
+            if (this.rootMoves.get(i) == move) {
+                for (int j = i; j > 0; j--) {
+                    this.rootMoves.swap(j, j - 1);
+                }
+                return;
+            }
+        }
+    }
+}
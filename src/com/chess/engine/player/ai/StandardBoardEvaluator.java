@@ -1,11 +1,14 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 
 public final class StandardBoardEvaluator implements BoardEvaluator {
-    private static final int PIECE_VALUE_SCALE = 3;
+    static final int PIECE_VALUE_SCALE = 3;
     private static final int PIECE_MOBILITY_SCALE = 1;
     private static final int CHECK_BONUS = 50;
     private static final int CHECKMATE_BONUS = 10000;
@@ -18,12 +21,29 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
                 scorePlayer(board, board.blackPlayer(), depth);
     }
 
+    @Override
+    public int evaluate(final SearchBoard board, final int depth) {
+        final boolean isInCheck = board.isInCheck();
+        final boolean isInCheckmate = isInCheck && !board.hasLegalMove();
+        return scoreAlliance(board, Alliance.WHITE, isInCheck, isInCheckmate, depth) -
+                scoreAlliance(board, Alliance.BLACK, isInCheck, isInCheckmate, depth);
+    }
+
     private int scorePlayer(final Board board, final Player player, final int depth) {
         return pieceValue(player) + pieceMobility(player)
                 + check(player) + checkmate(player, depth)
                 + castled(player);
     }
 
+    private static int scoreAlliance(final SearchBoard board, final Alliance alliance,
+                                     final boolean isInCheck, final boolean isInCheckmate, final int depth) {
+        // only the side to move can be in check, so the bonuses go to the other side
+        final boolean opponentToMove = board.getSideToMove() != alliance;
+        return pieceValue(board, alliance) + board.countLegalMoves(alliance) * PIECE_MOBILITY_SCALE
+                + (opponentToMove && isInCheck ? CHECK_BONUS : 0)
+                + (opponentToMove && isInCheckmate ? CHECKMATE_BONUS * depthBonus(depth) : 0);
+    }
+
     private int castled(Player player) {
         return player.isCastled() ? CASTLE_BONUS : 0;
     }
@@ -54,5 +74,18 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
         return pieceValueScore * PIECE_VALUE_SCALE;
     }
 
+    private static int pieceValue(final SearchBoard board, final Alliance alliance) {
+        int pieceValueScore = 0;
+
+        for (final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            if (!pieceType.isKing()) {
+                pieceValueScore += BitBoard.count(board.getBitBoard().getPieces(alliance, pieceType)) *
+                        pieceType.getPieceValue();
+            }
+        }
+
+        return pieceValueScore * PIECE_VALUE_SCALE;
+    }
+
     // TODO make a "piecesDeveloped method
 }
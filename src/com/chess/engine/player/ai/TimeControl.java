@@ -0,0 +1,38 @@
+package com.chess.engine.player.ai;
+
+public final class TimeControl {
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final int HARD_LIMIT_FACTOR = 4;
+    private static final long SAFETY_MARGIN_MILLIS = 50;
+
+    private final long softLimitMillis;
+    private final long hardLimitMillis;
+
+    private TimeControl(final long softLimitMillis, final long hardLimitMillis) {
+        this.softLimitMillis = softLimitMillis;
+        this.hardLimitMillis = hardLimitMillis;
+    }
+
+    public static TimeControl infinite() {
+        return new TimeControl(Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public static TimeControl fixedMoveTime(final long moveTimeMillis) {
+        return new TimeControl(moveTimeMillis, moveTimeMillis);
+    }
+
+    public static TimeControl fromClock(final long remainingMillis, final long incrementMillis, final int movesToGo) {
+        final long availableMillis = Math.max(0, remainingMillis - SAFETY_MARGIN_MILLIS);
+        final int moves = movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO;
+        final long softLimitMillis = Math.min(availableMillis, availableMillis / moves + incrementMillis * 3 / 4);
+        return new TimeControl(softLimitMillis, Math.min(availableMillis, softLimitMillis * HARD_LIMIT_FACTOR));
+    }
+
+    public long getSoftLimitMillis() {
+        return this.softLimitMillis;
+    }
+
+    public long getHardLimitMillis() {
+        return this.hardLimitMillis;
+    }
+}
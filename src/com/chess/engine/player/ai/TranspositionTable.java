@@ -0,0 +1,137 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+
+public final class TranspositionTable {
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    public static final int BOUND_NONE = 0;
+    public static final int BOUND_UPPER = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_EXACT = 3;
+
+    public static final long NO_ENTRY = 0L;
+
+    // data word: move (26 bits), value (26 bits, signed), depth (7 bits), bound (2 bits), age (3 bits)
+    private static final int VALUE_SHIFT = 26;
+    private static final int DEPTH_SHIFT = 52;
+    private static final int BOUND_SHIFT = 59;
+    private static final int AGE_SHIFT = 61;
+    private static final long MOVE_MASK = (1L << 26) - 1;
+    private static final long VALUE_MASK = (1L << 26) - 1;
+    private static final long DEPTH_MASK = (1L << 7) - 1;
+    private static final long BOUND_MASK = 3L;
+    private static final long AGE_MASK = 7L;
+
+    private static final int ENTRY_LONGS = 2;
+    private static final int BUCKET_ENTRIES = 2;
+    private static final int BUCKET_LONGS = ENTRY_LONGS * BUCKET_ENTRIES;
+    private static final long MAX_BUCKETS = 1L << 28;
+
+    // each entry is (key ^ data, data), so a torn write from another thread fails verification
+    private final long[] table;
+    private final long bucketMask;
+    private int age;
+
+    public TranspositionTable(final int sizeInMegabytes) {
+        final long buckets = Long.highestOneBit(Math.min(MAX_BUCKETS, Math.max(1L,
+                (sizeInMegabytes * 1024L * 1024L) / (BUCKET_LONGS * Long.BYTES))));
+        this.table = new long[(int) (buckets * BUCKET_LONGS)];
+        this.bucketMask = this.table.length / BUCKET_LONGS - 1;
+        this.age = 0;
+    }
+
+    public void newSearch() {
+        this.age = (int) ((this.age + 1) & AGE_MASK);
+    }
+
+    public void clear() {
+        Arrays.fill(this.table, 0L);
+        this.age = 0;
+    }
+
+    // permille of a sample of entries written since the last newSearch
+    public int getHashFull() {
+        final int samples = Math.min(1000, this.table.length / ENTRY_LONGS);
+        int used = 0;
+        for (int i = 0; i < samples; i++) {
+            final long data = this.table[i * ENTRY_LONGS + 1];
+            if (data != NO_ENTRY && age(data) == this.age) {
+                used++;
+            }
+        }
+        return used * 1000 / samples;
+    }
+
+    public long probe(final long key) {
+        final int bucket = bucketIndex(key);
+        for (int i = bucket; i < bucket + BUCKET_LONGS; i += ENTRY_LONGS) {
+            final long data = this.table[i + 1];
+            if ((this.table[i] ^ data) == key && data != NO_ENTRY) {
+                return data;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    public void store(final long key, final int move, final int value, final int depth, final int bound) {
+        final int bucket = bucketIndex(key);
+        int replace = bucket;
+        int replaceScore = Integer.MAX_VALUE;
+        for (int i = bucket; i < bucket + BUCKET_LONGS; i += ENTRY_LONGS) {
+            final long data = this.table[i + 1];
+            if ((this.table[i] ^ data) == key || data == NO_ENTRY) {
+                replace = i;
+                if (data != NO_ENTRY && move == 0) {
+                    // keep the best move of an earlier search of this position
+                    storeEntry(replace, key, move(data), value, depth, bound);
+                    return;
+                }
+                break;
+            }
+            // entries from earlier searches go first, then the shallowest
+            final int score = depth(data) - (age(data) == this.age ? 0 : 2 * (int) DEPTH_MASK);
+            if (score < replaceScore) {
+                replaceScore = score;
+                replace = i;
+            }
+        }
+        storeEntry(replace, key, move, value, depth, bound);
+    }
+
+    public static int move(final long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    public static int value(final long entry) {
+        // sign-extend the 26-bit value
+        return (int) ((entry << (64 - DEPTH_SHIFT)) >> (64 - DEPTH_SHIFT + VALUE_SHIFT));
+    }
+
+    public static int depth(final long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    public static int bound(final long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    private static int age(final long entry) {
+        return (int) ((entry >>> AGE_SHIFT) & AGE_MASK);
+    }
+
+    private void storeEntry(final int index, final long key, final int move, final int value,
+                            final int depth, final int bound) {
+        final long data = (move & MOVE_MASK) |
+                ((value & VALUE_MASK) << VALUE_SHIFT) |
+                ((Math.min(depth, (int) DEPTH_MASK) & DEPTH_MASK) << DEPTH_SHIFT) |
+                ((bound & BOUND_MASK) << BOUND_SHIFT) |
+                ((this.age & AGE_MASK) << AGE_SHIFT);
+        this.table[index] = key ^ data;
+        this.table[index + 1] = data;
+    }
+
+    private int bucketIndex(final long key) {
+        return (int) ((key >>> 32 ^ key) & this.bucketMask) * BUCKET_LONGS;
+    }
+}
@@ -3,6 +3,7 @@ package com.chess.gui;
 import com.chess.engine.Alliance;
 import com.chess.engine.player.Player;
 import com.chess.gui.Table.PlayerType;
+import com.chess.gui.Table.SearchType;
 
 import javax.swing.*;
 import java.awt.*;
@@ -13,10 +14,23 @@ class GameSetup extends JDialog {
 
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
+    private SearchType searchType;
     private JSpinner searchDepthSpinner;
+    private JSpinner moveTimeSpinner;
+    private JSpinner searchThreadsSpinner;
+    private JCheckBox ponderCheckBox;
+    private JCheckBox clockCheckBox;
+    private JSpinner clockMinutesSpinner;
+    private JSpinner incrementSpinner;
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
+    private static final String MINIMAX_TEXT = "MiniMax";
+    private static final String ALPHA_BETA_TEXT = "Alpha-Beta";
+    private static final String ITERATIVE_DEEPENING_TEXT = "Iterative Deepening";
+    private static final String PARALLEL_ALPHA_BETA_TEXT = "Parallel Alpha-Beta";
+    private static final String PONDER_TEXT = "Ponder";
+    private static final String CLOCK_TEXT = "Game Clock";
 
     GameSetup(final JFrame frame,
               final boolean modal) {
@@ -45,8 +59,34 @@ class GameSetup extends JDialog {
         myPanel.add(blackHumanButton);
         myPanel.add(blackComputerButton);
 
+        final JRadioButton miniMaxButton = new JRadioButton(MINIMAX_TEXT);
+        final JRadioButton alphaBetaButton = new JRadioButton(ALPHA_BETA_TEXT);
+        final JRadioButton iterativeDeepeningButton = new JRadioButton(ITERATIVE_DEEPENING_TEXT);
+        final JRadioButton parallelAlphaBetaButton = new JRadioButton(PARALLEL_ALPHA_BETA_TEXT);
+        final ButtonGroup searchGroup = new ButtonGroup();
+        searchGroup.add(miniMaxButton);
+        searchGroup.add(alphaBetaButton);
+        searchGroup.add(iterativeDeepeningButton);
+        searchGroup.add(parallelAlphaBetaButton);
+        alphaBetaButton.setSelected(true);
+        this.searchType = SearchType.ALPHA_BETA;
+
         myPanel.add(new JLabel("Search"));
-        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(6, 0, Integer.MAX_VALUE, 1));
+        myPanel.add(miniMaxButton);
+        myPanel.add(alphaBetaButton);
+        myPanel.add(iterativeDeepeningButton);
+        myPanel.add(parallelAlphaBetaButton);
+        // iterative deepening searches until its time runs out, so only the fixed depth searches use this
+        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Fixed Search Depth", new SpinnerNumberModel(4, 1, Integer.MAX_VALUE, 1));
+        this.clockCheckBox = new JCheckBox(CLOCK_TEXT, true);
+        myPanel.add(this.clockCheckBox);
+        this.clockMinutesSpinner = addLabeledSpinner(myPanel, "Clock (min)", new SpinnerNumberModel(5, 1, Integer.MAX_VALUE, 1));
+        this.incrementSpinner = addLabeledSpinner(myPanel, "Increment (s)", new SpinnerNumberModel(3, 0, Integer.MAX_VALUE, 1));
+        this.moveTimeSpinner = addLabeledSpinner(myPanel, "Move Time without Clock (s)", new SpinnerNumberModel(5, 1, Integer.MAX_VALUE, 1));
+        this.searchThreadsSpinner = addLabeledSpinner(myPanel, "Search Threads",
+                new SpinnerNumberModel(1, 1, Runtime.getRuntime().availableProcessors(), 1));
+        this.ponderCheckBox = new JCheckBox(PONDER_TEXT);
+        myPanel.add(this.ponderCheckBox);
 
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -55,6 +95,9 @@ class GameSetup extends JDialog {
             public void actionPerformed(ActionEvent e) {
                 whitePlayerType = whiteComputerButton.isSelected() ? PlayerType.COMPUTER : PlayerType.HUMAN;
                 blackPlayerType = blackComputerButton.isSelected() ? PlayerType.COMPUTER : PlayerType.HUMAN;
+                searchType = miniMaxButton.isSelected() ? SearchType.MINIMAX :
+                        iterativeDeepeningButton.isSelected() ? SearchType.ITERATIVE_DEEPENING :
+                        parallelAlphaBetaButton.isSelected() ? SearchType.PARALLEL_ALPHA_BETA : SearchType.ALPHA_BETA;
                 GameSetup.this.setVisible(false);
             }
         });
@@ -94,6 +137,10 @@ class GameSetup extends JDialog {
         return this.blackPlayerType;
     }
 
+    SearchType getSearchType() {
+        return this.searchType;
+    }
+
     private static JSpinner addLabeledSpinner(final Container c,
                                               final String label,
                                               final SpinnerModel model) {
@@ -108,4 +155,28 @@ class GameSetup extends JDialog {
     int getSearchDepth() {
         return (Integer)this.searchDepthSpinner.getValue();
     }
+
+    long getMoveTimeMillis() {
+        return (Integer)this.moveTimeSpinner.getValue() * 1000L;
+    }
+
+    int getSearchThreads() {
+        return (Integer)this.searchThreadsSpinner.getValue();
+    }
+
+    boolean isClocked() {
+        return this.clockCheckBox.isSelected();
+    }
+
+    long getClockMillis() {
+        return (Integer)this.clockMinutesSpinner.getValue() * 60000L;
+    }
+
+    long getIncrementMillis() {
+        return (Integer)this.incrementSpinner.getValue() * 1000L;
+    }
+
+    boolean isPondering() {
+        return this.ponderCheckBox.isSelected();
+    }
 }
\ No newline at end of file
@@ -1,13 +1,22 @@
 package com.chess.gui;
 
+import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.IterativeDeepening;
 import com.chess.engine.player.ai.MiniMax;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.ParallelAlphaBeta;
+import com.chess.engine.player.ai.SearchHandle;
+import com.chess.engine.player.ai.SearchInfo;
+import com.chess.engine.player.ai.SearchListener;
+import com.chess.engine.player.ai.TimeControl;
+import com.chess.engine.player.ai.TranspositionTable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
@@ -23,7 +32,9 @@ import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 import static javax.swing.SwingUtilities.isLeftMouseButton;
 import static javax.swing.SwingUtilities.isRightMouseButton;
@@ -35,6 +46,8 @@ public class Table extends Observable {
     private final BoardPanel boardPanel;
     private final MoveLog moveLog;
     private final GameSetup gameSetup;
+    private final TranspositionTable transpositionTable;
+    private ForkJoinPool forkJoinPool;
 
     private Board chessBoard;
 
@@ -44,6 +57,10 @@ public class Table extends Observable {
     private BoardDirection boardDirection;
 
     private Move computerMove;
+    private MoveStrategy ponderingStrategy;
+    private AIThinkTank thinkTank;
+    // each side's time left on the game clock; only computer moves are charged to it
+    private final long[] clockMillis;
 
     private final static Dimension OUTER_FRAME_DIMENSION = new Dimension(600, 600);
     private final static Dimension BOARD_PANEL_DIMENSION = new Dimension(400, 350);
@@ -66,6 +83,9 @@ public class Table extends Observable {
         this.moveLog = new MoveLog();
         this.addObserver(new TableGameAIWatcher());
         this.gameSetup = new GameSetup(this.gameFrame, true);
+        this.clockMillis = new long[Alliance.values().length];
+        resetClocks();
+        this.transpositionTable = new TranspositionTable(TranspositionTable.DEFAULT_SIZE_MB);
         this.boardDirection = BoardDirection.NORMAL;
         this.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
         this.gameFrame.add(this.boardPanel, BorderLayout.CENTER);
@@ -79,6 +99,9 @@ public class Table extends Observable {
     }
 
     public void show() {
+        Table.get().stopThinking();
+        Table.get().stopPondering();
+        Table.get().resetClocks();
         Table.get().getMoveLog().clear();
         Table.get().getGameHistoryPanel().redo(chessBoard, Table.get().getMoveLog());
         Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
@@ -89,6 +112,21 @@ public class Table extends Observable {
         return this.gameSetup;
     }
 
+    private TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    // one pool for the parallel search, replaced when the thread count changes
+    private ForkJoinPool getForkJoinPool(final int parallelism) {
+        if (this.forkJoinPool == null || this.forkJoinPool.getParallelism() != parallelism) {
+            if (this.forkJoinPool != null) {
+                this.forkJoinPool.shutdown();
+            }
+            this.forkJoinPool = new ForkJoinPool(parallelism);
+        }
+        return this.forkJoinPool;
+    }
+
     private Board getGameBoard() {
         return this.chessBoard;
     }
@@ -109,6 +147,8 @@ public class Table extends Observable {
         openPGN.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
+                Table.get().stopThinking();
+                Table.get().stopPondering();
                 System.out.println("Open up the PGN File");
             }
         });
@@ -168,6 +208,9 @@ public class Table extends Observable {
     }
 
     private void setupUpdate(final GameSetup gameSetup) {
+        stopThinking();
+        stopPondering();
+        resetClocks();
         setChanged();
         notifyObservers(gameSetup);
     }
@@ -181,8 +224,13 @@ public class Table extends Observable {
             && !Table.get().getGameBoard().currentPlayer().isInStalemate()) {
                 // create an AI thread
                 // execute AI work
-                final AIThinkTank thinkTank = new AIThinkTank();
-                thinkTank.execute();
+                Table.get().startThinking();
+            }
+
+            if (Table.get().getGameBoard().currentPlayer().isInCheckmate() ||
+                    Table.get().getGameBoard().currentPlayer().isInStalemate()) {
+                Table.get().stopThinking();
+                Table.get().stopPondering();
             }
 
             if (Table.get().getGameBoard().currentPlayer().isInCheckmate()) {
@@ -207,6 +255,68 @@ public class Table extends Observable {
         this.computerMove = move;
     }
 
+    private void resetClocks() {
+        Arrays.fill(this.clockMillis, this.gameSetup.getClockMillis());
+    }
+
+    private void chargeClock(final Alliance alliance, final long elapsedMillis) {
+        final int side = alliance.ordinal();
+        this.clockMillis[side] = Math.max(0, this.clockMillis[side] - elapsedMillis) +
+                this.gameSetup.getIncrementMillis();
+    }
+
+    // a budget from the side to move's clock, or a fixed move time when the game clock is off
+    private TimeControl createTimeControl() {
+        if (!this.gameSetup.isClocked()) {
+            return TimeControl.fixedMoveTime(this.gameSetup.getMoveTimeMillis());
+        }
+        return TimeControl.fromClock(this.clockMillis[this.chessBoard.currentPlayer().getAlliance().ordinal()],
+                this.gameSetup.getIncrementMillis(), 0);
+    }
+
+    private void startThinking() {
+        stopThinking();
+        this.thinkTank = new AIThinkTank();
+        this.thinkTank.execute();
+    }
+
+    private void stopThinking() {
+        final AIThinkTank thinkTank = this.thinkTank;
+        this.thinkTank = null;
+        if (thinkTank != null) {
+            thinkTank.abort();
+        }
+    }
+
+    // false once a reset has replaced or dropped the think tank, whose move then goes unplayed
+    private boolean finishThinking(final AIThinkTank thinkTank) {
+        if (this.thinkTank != thinkTank) {
+            return false;
+        }
+        this.thinkTank = null;
+        return true;
+    }
+
+    private MoveStrategy takePonderingStrategy() {
+        final MoveStrategy moveStrategy = this.ponderingStrategy;
+        this.ponderingStrategy = null;
+        return moveStrategy;
+    }
+
+    private void startPondering(final MoveStrategy moveStrategy) {
+        if (moveStrategy.ponder(this.chessBoard)) {
+            this.ponderingStrategy = moveStrategy;
+        }
+    }
+
+    private void stopPondering() {
+        final MoveStrategy moveStrategy = takePonderingStrategy();
+        if (moveStrategy != null) {
+            // stopping waits for the ponder threads to reach their next stop check, so not on this thread
+            CompletableFuture.runAsync(moveStrategy::stopPondering);
+        }
+    }
+
     private MoveLog getMoveLog() {
         return this.moveLog;
     }
@@ -228,22 +338,55 @@ public class Table extends Observable {
         notifyObservers(playerType);
     }
 
-    private static class AIThinkTank extends SwingWorker<Move, String> {
+    private static class AIThinkTank extends SwingWorker<Move, String> implements SearchListener {
 
-        private AIThinkTank() {
+        private final MoveStrategy moveStrategy;
+        private final SearchHandle searchHandle;
+        private final long startTime;
 
+        private AIThinkTank() {
+            this.startTime = System.currentTimeMillis();
+            final GameSetup gameSetup = Table.get().getGameSetup();
+            // a strategy left pondering resolves the hit or miss itself
+            final MoveStrategy ponderingStrategy = Table.get().takePonderingStrategy();
+            this.moveStrategy = ponderingStrategy != null ?
+                    gameSetup.getSearchType().resumeMoveStrategy(ponderingStrategy) :
+                    gameSetup.getSearchType().createMoveStrategy(gameSetup);
+            this.moveStrategy.addSearchListener(this);
+            // started on the event thread, so a reset that follows always finds the handle to stop
+            this.searchHandle = this.moveStrategy.search(Table.get().getGameBoard());
         }
 
         @Override
         protected Move doInBackground() throws Exception {
-            final MoveStrategy miniMax = new MiniMax(4);
-            return miniMax.execute(Table.get().getGameBoard());
+            return this.searchHandle.get();
+        }
+
+        private void abort() {
+            cancel(false);
+            this.searchHandle.stop();
+        }
+
+        @Override
+        public void onSearchInfo(final SearchInfo searchInfo) {
+            publish(searchInfo.toString());
+        }
+
+        @Override
+        protected void process(final List<String> searchInfos) {
+            Table.get().gameFrame.setTitle("Delorean - " + searchInfos.get(searchInfos.size() - 1));
         }
 
         @Override
         public void done() {
+            this.moveStrategy.removeSearchListener(this);
+            if (!Table.get().finishThinking(this)) {
+                return;
+            }
             try {
                 final Move bestMove = get();
+                Table.get().chargeClock(Table.get().getGameBoard().currentPlayer().getAlliance(),
+                        System.currentTimeMillis() - this.startTime);
                 Table.get().updateComputerMove(bestMove);
                 Table.get().updateGameBoard(Table.get().getGameBoard().
                         currentPlayer().makeMove(bestMove).getTransitionBoard());
@@ -252,6 +395,10 @@ public class Table extends Observable {
                         Table.get().getGameBoard(), Table.get().getMoveLog());
                 Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
                 Table.get().getBoardPanel().drawBoard(Table.get().getGameBoard());
+                final GameSetup gameSetup = Table.get().getGameSetup();
+                if (gameSetup.isPondering() && !gameSetup.isAIPlayer(Table.get().getGameBoard().currentPlayer())) {
+                    Table.get().startPondering(this.moveStrategy);
+                }
                 Table.get().moveMadeUpdate(PlayerType.COMPUTER);
 
             } catch (InterruptedException e) {
@@ -351,6 +498,49 @@ public class Table extends Observable {
         COMPUTER
     }
 
+    public enum SearchType {
+        MINIMAX {
+            @Override
+            MoveStrategy createMoveStrategy(final GameSetup gameSetup) {
+                return new MiniMax(gameSetup.getSearchDepth());
+            }
+        },
+        ALPHA_BETA {
+            @Override
+            MoveStrategy createMoveStrategy(final GameSetup gameSetup) {
+                return new AlphaBeta(gameSetup.getSearchDepth());
+            }
+        },
+        ITERATIVE_DEEPENING {
+            @Override
+            MoveStrategy createMoveStrategy(final GameSetup gameSetup) {
+                // the clock decides when to stop, so the depth is left open
+                return new IterativeDeepening(IterativeDeepening.MAX_DEPTH, Table.get().createTimeControl(),
+                        Table.get().getTranspositionTable(), gameSetup.getSearchThreads());
+            }
+
+            @Override
+            MoveStrategy resumeMoveStrategy(final MoveStrategy moveStrategy) {
+                ((IterativeDeepening) moveStrategy).setTimeControl(Table.get().createTimeControl());
+                return moveStrategy;
+            }
+        },
+        PARALLEL_ALPHA_BETA {
+            @Override
+            MoveStrategy createMoveStrategy(final GameSetup gameSetup) {
+                return new ParallelAlphaBeta(gameSetup.getSearchDepth(),
+                        Table.get().getForkJoinPool(gameSetup.getSearchThreads()));
+            }
+        };
+
+        abstract MoveStrategy createMoveStrategy(final GameSetup gameSetup);
+
+        // a strategy left pondering searches on, with a budget for the move it now has to make
+        MoveStrategy resumeMoveStrategy(final MoveStrategy moveStrategy) {
+            return moveStrategy;
+        }
+    }
+
     private class TilePanel extends JPanel {
         private final int tileId;
         private static boolean highlightLegals;
@@ -491,7 +681,7 @@ public class Table extends Observable {
         private Collection<Move> pieceLegalMoves(final Board board) {
             final List<Move> pieceMoves = new ArrayList<>();
             if (humanMovedPiece != null && humanMovedPiece.getPieceAlliance() == board.currentPlayer().getAlliance()) {
-                for (final Move move : board.currentPlayer().getLegalMoves()) {
+                for (final Move move : board.currentPlayer().getLegalMovesFrom(humanMovedPiece.getPiecePosition())) {
                     if (move.getMovedPiece() == humanMovedPiece) {
                         pieceMoves.add(move);
                     }
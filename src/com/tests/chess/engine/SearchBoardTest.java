@@ -0,0 +1,340 @@
+package com.tests.chess.engine;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.board.Zobrist;
+import com.chess.engine.pieces.Bishop;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Knight;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Queen;
+import com.chess.engine.pieces.Rook;
+import com.chess.engine.player.MoveStatus;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.BoardEvaluator;
+import com.chess.engine.player.ai.MoveHistory;
+import com.chess.engine.player.ai.MovePicker;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SearchBoardTest {
+
+    @Test
+    public void testStandardBoardPerft() {
+        final SearchBoard board = new SearchBoard(Board.createStandardBoard());
+        assertEquals(20, perft(board, 1));
+        assertEquals(400, perft(board, 2));
+        assertEquals(8902, perft(board, 3));
+        assertEquals(197281, perft(board, 4));
+    }
+
+    @Test
+    public void testReferencePositionsPerft() {
+        // Kiwipete and perft positions 3 to 5 cover castling, en passant, promotions and pins
+        final Object[][] positions = {
+                {"r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -", new long[] {48, 2039, 97862}},
+                {"8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -", new long[] {14, 191, 2812}},
+                {"r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq -", new long[] {6, 264, 9467}},
+                {"rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ -", new long[] {44, 1486, 62379}}
+        };
+        for (final Object[] position : positions) {
+            final Board board = fromFen((String) position[0]);
+            final long[] expected = (long[]) position[1];
+            final SearchBoard searchBoard = new SearchBoard(board);
+            for (int depth = 1; depth <= expected.length; depth++) {
+                assertEquals(position[0] + " depth " + depth, expected[depth - 1], perft(searchBoard, depth));
+            }
+            assertEquals(position[0] + " depth 2", expected[1], perft(board, 2));
+        }
+    }
+
+    @Test
+    public void testLegalMovesExcludePinnedPieceMoves() {
+        final Board board = fromFen("k3r3/8/8/8/8/8/4B3/4K3 w - -");
+        final int bishopSquare = BoardUtils.getCoordinateAtPosition("e2");
+        final Move pinnedMove = board.getPiece(bishopSquare).calculateLegalMoves(board).iterator().next();
+
+        assertTrue(board.currentPlayer().getLegalMovesFrom(bishopSquare).isEmpty());
+        assertFalse(board.currentPlayer().getLegalMoves().contains(pinnedMove));
+        assertEquals(MoveStatus.LEAVES_PLAYER_IN_CHECK, board.currentPlayer().makeMove(pinnedMove).getMoveStatus());
+    }
+
+    @Test
+    public void testIsMoveLegalTellsPromotionsApart() {
+        final Board board = fromFen("8/P6k/8/8/8/8/8/K7 w - -");
+        final Collection<Move> promotions =
+                board.currentPlayer().getLegalMovesFrom(BoardUtils.getCoordinateAtPosition("a7"));
+
+        assertEquals(4, promotions.size());
+        for (final Move promotion : promotions) {
+            assertTrue(board.currentPlayer().isMoveLegal(promotion));
+            assertEquals(MoveStatus.DONE, board.currentPlayer().makeMove(promotion).getMoveStatus());
+        }
+        assertFalse(board.currentPlayer().isMoveLegal(new Move.NullMove()));
+        assertEquals(MoveStatus.ILLEGAL_MOVE, board.currentPlayer().makeMove(new Move.NullMove()).getMoveStatus());
+    }
+
+    @Test
+    public void testEvaluationMatchesBoard() {
+        final BoardEvaluator evaluator = new StandardBoardEvaluator();
+        for (final Board board : randomGames()) {
+            for (int depth = 0; depth <= 2; depth++) {
+                assertEquals(evaluator.evaluate(board, depth), evaluator.evaluate(new SearchBoard(board), depth));
+            }
+        }
+    }
+
+    @Test
+    public void testUnmakeRestoresPosition() {
+        final SearchBoard board = new SearchBoard(Board.createStandardBoard());
+        final long occupied = board.getBitBoard().getOccupied();
+        perft(board, 3);
+        assertEquals(occupied, board.getBitBoard().getOccupied());
+        assertEquals(0, board.getPly());
+    }
+
+    @Test
+    public void testNullMovePassesTurn() {
+        final Board board = makeMove(Board.createStandardBoard(), "e2", "e4");
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final long key = searchBoard.zobristKey();
+        searchBoard.makeNullMove();
+        assertTrue(searchBoard.getSideToMove().isWhite());
+        assertNotEquals(key, searchBoard.zobristKey());
+        assertTrue(searchBoard.makeMove(findMove(searchBoard, "d2", "d4")));
+        searchBoard.unmakeMove();
+        searchBoard.unmakeNullMove();
+        assertEquals(key, searchBoard.zobristKey());
+        assertTrue(searchBoard.getSideToMove().isBlack());
+        assertEquals(0, searchBoard.getPly());
+    }
+
+    @Test
+    public void testZobristKeyTracksBoard() {
+        Board board = Board.createStandardBoard();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final long startKey = searchBoard.zobristKey();
+        for (final String[] move : new String[][] {{"e2", "e4"}, {"e7", "e5"}, {"g1", "f3"}, {"b8", "c6"},
+                {"f1", "c4"}, {"g8", "f6"}, {"e1", "g1"}}) {
+            board = makeMove(board, move[0], move[1]);
+            assertTrue(searchBoard.makeMove(findMove(searchBoard, move[0], move[1])));
+            assertEquals(board.zobristKey(), searchBoard.zobristKey());
+        }
+        while (searchBoard.getPly() > 0) {
+            searchBoard.unmakeMove();
+        }
+        assertEquals(startKey, searchBoard.zobristKey());
+    }
+
+    @Test
+    public void testIncrementalKeyMatchesFullCalculation() {
+        for (final Board board : randomGames()) {
+            assertEquals(Zobrist.calculateKey(board), board.zobristKey());
+        }
+    }
+
+    @Test
+    public void testTranspositionsShareKey() {
+        Board first = Board.createStandardBoard();
+        Board second = Board.createStandardBoard();
+        first = makeMove(makeMove(makeMove(first, "g1", "f3"), "b8", "c6"), "b1", "c3");
+        second = makeMove(makeMove(makeMove(second, "b1", "c3"), "b8", "c6"), "g1", "f3");
+        assertEquals(first.zobristKey(), second.zobristKey());
+        assertEquals(first, second);
+        assertNotEquals(first.zobristKey(), Board.createStandardBoard().zobristKey());
+    }
+
+    @Test
+    public void testPackedMoveRoundTrip() {
+        final Board board = Board.createStandardBoard();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final int packedMove = PackedMove.fromMove(move);
+            assertEquals(move, Move.MoveFactory.createMove(board, packedMove));
+        }
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final MoveList moves = new MoveList();
+        searchBoard.generateMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(moves.get(i), PackedMove.fromMove(PackedMove.toMove(board, moves.get(i))));
+        }
+    }
+
+    @Test
+    public void testMovePickerYieldsEachMoveOnce() {
+        Board board = Board.createStandardBoard();
+        board = makeMove(makeMove(makeMove(board, "e2", "e4"), "d7", "d5"), "b1", "c3");
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int hashMove = findMove(searchBoard, "d5", "e4");
+        final int killer = findMove(searchBoard, "g8", "f6");
+        final MoveList moves = new MoveList();
+        searchBoard.generateMoves(moves);
+        assertFalse(searchBoard.isPseudoLegal(findMove(new SearchBoard(Board.createStandardBoard()), "g1", "f3")));
+        assertTrue(searchBoard.isPseudoLegal(killer));
+
+        final MovePicker movePicker = new MovePicker();
+        movePicker.reset(searchBoard, hashMove, killer, PackedMove.NULL_MOVE);
+        assertEquals(hashMove, movePicker.nextMove());
+        final int[] picked = new int[moves.size()];
+        picked[0] = hashMove;
+        for (int i = 1; i < picked.length; i++) {
+            picked[i] = movePicker.nextMove();
+        }
+        assertEquals(PackedMove.NULL_MOVE, movePicker.nextMove());
+        final int[] generated = new int[moves.size()];
+        for (int i = 0; i < generated.length; i++) {
+            generated[i] = moves.get(i);
+        }
+        Arrays.sort(picked);
+        Arrays.sort(generated);
+        assertArrayEquals(generated, picked);
+    }
+
+    @Test
+    public void testMovePickerOrdersQuietsByHistory() {
+        final SearchBoard searchBoard = new SearchBoard(Board.createStandardBoard());
+        final int knightMove = findMove(searchBoard, "g1", "f3");
+        final int pawnMove = findMove(searchBoard, "h2", "h3");
+        final MoveHistory moveHistory = new MoveHistory(4);
+        moveHistory.updateCutoff(pawnMove, 2, 2);
+        moveHistory.updateCutoff(knightMove, 1, 3);
+        assertEquals(knightMove, moveHistory.getFirstKiller(1));
+        assertEquals(pawnMove, moveHistory.getFirstKiller(2));
+
+        final MovePicker movePicker = new MovePicker(moveHistory);
+        movePicker.reset(searchBoard, PackedMove.NULL_MOVE, PackedMove.NULL_MOVE, PackedMove.NULL_MOVE);
+        assertEquals(knightMove, movePicker.nextMove());
+        assertEquals(pawnMove, movePicker.nextMove());
+    }
+
+    // the last iteration of a fixed-depth search, after checking that its line ends in mate
+    // pins, checks, castling, en passant and promotions all show up along random games from these positions
+    private static List<Board> randomGames() {
+        final Random random = new Random(7);
+        final List<Board> boards = new ArrayList<>();
+        for (final String fen : new String[] {"k3r3/8/8/8/8/8/4B3/4K3 w - -",
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+                "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ -"}) {
+            Board board = fromFen(fen);
+            for (int ply = 0; ply < 40 && !board.currentPlayer().getLegalMoves().isEmpty(); ply++) {
+                boards.add(board);
+                final List<Move> legalMoves = new ArrayList<>(board.currentPlayer().getLegalMoves());
+                board = board.currentPlayer().makeMove(legalMoves.get(random.nextInt(legalMoves.size())))
+                        .getTransitionBoard();
+            }
+        }
+        return boards;
+    }
+
+    private static Board makeMove(final Board board, final String from, final String to) {
+        final Move move = Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(from),
+                BoardUtils.getCoordinateAtPosition(to));
+        return board.currentPlayer().makeMove(move).getTransitionBoard();
+    }
+
+    private static int findMove(final SearchBoard board, final String from, final String to) {
+        final MoveList moves = new MoveList();
+        board.generateMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedMove.fromSquare(moves.get(i)) == BoardUtils.getCoordinateAtPosition(from) &&
+                    PackedMove.toSquare(moves.get(i)) == BoardUtils.getCoordinateAtPosition(to)) {
+                return moves.get(i);
+            }
+        }
+        throw new AssertionError("No move " + from + to);
+    }
+
+    private static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        long nodes = 0;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += perft(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    // piece placement, side to move, castling and en passant fields only
+    static Board fromFen(final String fen) {
+        final String[] fields = fen.split(" ");
+        final String castling = fields[2];
+        final Board.Builder builder = new Board.Builder();
+        int square = 0;
+        for (final char c : fields[0].toCharArray()) {
+            if (c == '/') {
+                continue;
+            }
+            if (Character.isDigit(c)) {
+                square += c - '0';
+                continue;
+            }
+            final Alliance alliance = Character.isUpperCase(c) ? Alliance.WHITE : Alliance.BLACK;
+            final String rights = alliance.isWhite() ?
+                    castling.replaceAll("[^KQ]", "") : castling.replaceAll("[^kq]", "").toUpperCase();
+            builder.setPiece(createPiece(Character.toUpperCase(c), square, alliance, rights));
+            square++;
+        }
+        builder.setMoveMaker(fields[1].equals("w") ? Alliance.WHITE : Alliance.BLACK);
+        if (!fields[3].equals("-")) {
+            final int target = BoardUtils.getCoordinateAtPosition(fields[3]);
+            builder.setEnPassantPawn(fields[1].equals("w") ?
+                    new Pawn(target + 8, Alliance.BLACK, false) : new Pawn(target - 8, Alliance.WHITE, false));
+        }
+        return builder.build();
+    }
+
+    // rights holds this side's castling letters in upper case
+    private static Piece createPiece(final char type, final int square, final Alliance alliance,
+                                     final String rights) {
+        final int queenRookSquare = alliance.isWhite() ? 56 : 0;
+        switch (type) {
+            case 'P':
+                return new Pawn(square, alliance, square / 8 == (alliance.isWhite() ? 6 : 1));
+            case 'N':
+                return new Knight(square, alliance, false);
+            case 'B':
+                return new Bishop(square, alliance, false);
+            case 'R':
+                return new Rook(square, alliance, (square == queenRookSquare && rights.contains("Q")) ||
+                        (square == queenRookSquare + 7 && rights.contains("K")));
+            case 'Q':
+                return new Queen(square, alliance, false);
+            default:
+                return new King(square, alliance, rights.contains("K") || rights.contains("Q"));
+        }
+    }
+
+    private static long perft(final SearchBoard board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        final MoveList moves = new MoveList();
+        board.generateMoves(moves);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            if (board.makeMove(moves.get(i))) {
+                nodes += perft(board, depth - 1);
+                board.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+}
@@ -4,10 +4,24 @@ import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
 import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.IterativeDeepening;
 import com.chess.engine.player.ai.MiniMax;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.ParallelAlphaBeta;
+import com.chess.engine.player.ai.SearchHandle;
+import com.chess.engine.player.ai.SearchInfo;
+import com.chess.engine.player.ai.TimeControl;
+import com.chess.engine.player.ai.TranspositionTable;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.*;
 
 public class TestTest {
@@ -42,4 +56,235 @@ public class TestTest {
         assertEquals(aiMove, bestMove);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testFoolsMateAlphaBeta() {
+        final Board board = foolsMatePosition();
+
+        final Move miniMaxMove = new MiniMax(4).execute(board);
+        final Move alphaBetaMove = new AlphaBeta(4).execute(board);
+
+        assertEquals(miniMaxMove, alphaBetaMove);
+    }
+
+    @Test
+    public void testAlphaBetaMatchesMiniMaxAmongSeveralGoodMoves() {
+        // quiet endings where several moves tie for best, back rank mates reachable by more than one
+        // rook move, and an opening with many reasonable replies
+        final Object[][] positions = {
+                {"4k3/pp3ppp/8/8/8/8/PP3PPP/4K3 w - -", 4},
+                {"8/5k2/8/3p4/3P4/8/5K2/8 w - -", 4},
+                {"8/8/4k3/8/2N1n3/8/4K3/8 w - -", 4},
+                {"6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - -", 4},
+                {"2r3k1/5ppp/8/8/8/8/5PPP/2R3K1 b - -", 3},
+                {"3q1rk1/5ppp/8/8/8/8/5PPP/3Q1RK1 w - -", 3},
+                {"r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq -", 3}
+        };
+        for (final Object[] position : positions) {
+            final Board board = SearchBoardTest.fromFen((String) position[0]);
+            final int depth = (Integer) position[1];
+            final Move miniMaxMove = new MiniMax(depth).execute(board);
+
+            assertNotNull(miniMaxMove);
+            assertEquals((String) position[0], miniMaxMove, new AlphaBeta(depth).execute(board));
+            assertEquals((String) position[0], miniMaxMove, new ParallelAlphaBeta(depth).execute(board));
+        }
+    }
+
+    @Test
+    public void testParallelAlphaBetaMatchesAlphaBeta() {
+        Board board = Board.createStandardBoard();
+        for (final String[] move : new String[][] {{"e2", "e4"}, {"e7", "e5"}, {"g1", "f3"}, {"b8", "c6"}}) {
+            final MoveTransition transition = board.currentPlayer().makeMove(Move.MoveFactory.createMove(board,
+                    BoardUtils.getCoordinateAtPosition(move[0]), BoardUtils.getCoordinateAtPosition(move[1])));
+            assertTrue(transition.getMoveStatus().isDone());
+            board = transition.getTransitionBoard();
+        }
+
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            final Move alphaBetaMove = new AlphaBeta(4).execute(board);
+            final Move parallelMove = new ParallelAlphaBeta(4, forkJoinPool).execute(board);
+
+            assertEquals(alphaBetaMove, parallelMove);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testIterativeDeepeningFindsFoolsMate() {
+        final Board board = foolsMatePosition();
+        final IterativeDeepening strategy = new IterativeDeepening(TimeControl.fixedMoveTime(2000));
+        final List<SearchInfo> searchInfos = new CopyOnWriteArrayList<>();
+        strategy.addSearchListener(searchInfos::add);
+        final Move aiMove = strategy.execute(board);
+        final Move bestMove = Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("d8"),
+                BoardUtils.getCoordinateAtPosition("h4"));
+
+        assertEquals(bestMove, aiMove);
+        assertEquals(bestMove, strategy.getPrincipalVariation().get(0));
+        // a mate found at the first depth ends the search instead of running out the clock
+        assertEquals(1, searchInfos.size());
+    }
+
+    @Test
+    public void testLazySmpFindsFoolsMate() {
+        final Board board = foolsMatePosition();
+        final Move aiMove = new IterativeDeepening(6, TimeControl.fixedMoveTime(2000),
+                new TranspositionTable(1), 4).execute(board);
+        final Move bestMove = Move.MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition("d8"),
+                BoardUtils.getCoordinateAtPosition("h4"));
+
+        assertEquals(bestMove, aiMove);
+    }
+
+    @Test
+    public void testSearchHandleStopsAndReportsProgress() throws Exception {
+        final Board board = Board.createStandardBoard();
+        final IterativeDeepening strategy = new IterativeDeepening(TimeControl.infinite());
+        final List<SearchInfo> searchInfos = new CopyOnWriteArrayList<>();
+        final CountDownLatch reported = new CountDownLatch(1);
+        strategy.addSearchListener(searchInfo -> {
+            searchInfos.add(searchInfo);
+            reported.countDown();
+        });
+
+        final SearchHandle searchHandle = strategy.search(board);
+        assertTrue(reported.await(10, TimeUnit.SECONDS));
+        assertFalse(searchHandle.isDone());
+        searchHandle.stop();
+        final Move move = searchHandle.get(2, TimeUnit.SECONDS);
+
+        assertTrue(board.currentPlayer().getLegalMoves().contains(move));
+        assertFalse(searchInfos.isEmpty());
+        for (int i = 0; i < searchInfos.size(); i++) {
+            assertEquals(i + 1, searchInfos.get(i).getDepth());
+            assertFalse(searchInfos.get(i).getPrincipalVariation().isEmpty());
+        }
+    }
+
+    @Test
+    public void testSearchHandleStopsFixedDepthStrategies() throws Exception {
+        final Board board = Board.createStandardBoard();
+        for (final MoveStrategy strategy : new MoveStrategy[] {
+                new MiniMax(4), new AlphaBeta(4), new ParallelAlphaBeta(4)}) {
+            final List<SearchInfo> searchInfos = new CopyOnWriteArrayList<>();
+            final CountDownLatch reported = new CountDownLatch(1);
+            final CountDownLatch stopped = new CountDownLatch(1);
+            // the first root move's report holds the search until it has been stopped
+            strategy.addSearchListener(searchInfo -> {
+                searchInfos.add(searchInfo);
+                reported.countDown();
+                try {
+                    stopped.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            final SearchHandle searchHandle = strategy.search(board);
+            assertTrue(strategy.toString(), reported.await(10, TimeUnit.SECONDS));
+            assertFalse(strategy.toString(), searchHandle.isDone());
+            searchHandle.stop();
+            stopped.countDown();
+            final Move move = searchHandle.get(10, TimeUnit.SECONDS);
+
+            assertEquals(strategy.toString(), 1, searchInfos.size());
+            assertEquals(strategy.toString(), 4, searchInfos.get(0).getDepth());
+            assertEquals(strategy.toString(), searchInfos.get(0).getPrincipalVariation().get(0), move);
+        }
+    }
+
+    @Test
+    public void testPonderingReportsOnlyAfterPonderHit() throws Exception {
+        Board board = Board.createStandardBoard();
+        final TranspositionTable transpositionTable = new TranspositionTable(1);
+        final IterativeDeepening strategy = new IterativeDeepening(4, TimeControl.infinite(), transpositionTable);
+        final List<SearchInfo> searchInfos = new CopyOnWriteArrayList<>();
+        strategy.addSearchListener(searchInfos::add);
+        board = board.currentPlayer().makeMove(strategy.execute(board)).getTransitionBoard();
+        final List<Move> principalVariation = strategy.getPrincipalVariation();
+        final int reportedInfos = searchInfos.size();
+        final Move expectedReply = principalVariation.get(1);
+        final Board ponderBoard = board.currentPlayer().makeMove(expectedReply).getTransitionBoard();
+
+        assertTrue(strategy.ponder(board));
+        // listeners must stay silent, so the ponder run's progress is read from the table it writes: a second
+        // depth is only stored after the first depth has been reported to the run
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (TranspositionTable.depth(transpositionTable.probe(ponderBoard.zobristKey())) < 2) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.yield();
+        }
+        assertEquals(principalVariation, strategy.getPrincipalVariation());
+        assertEquals(reportedInfos, searchInfos.size());
+
+        final Move move = strategy.execute(ponderBoard);
+        assertTrue(ponderBoard.currentPlayer().getLegalMoves().contains(move));
+        assertTrue(searchInfos.size() > reportedInfos);
+        assertTrue(ponderBoard.currentPlayer().getLegalMoves().contains(strategy.getPrincipalVariation().get(0)));
+    }
+
+    @Test
+    public void testPruningKeepsMateInZugzwang() {
+        // black would rather pass than move here, so an unverified null move cuts off the mate in three
+        final Board board = SearchBoardTest.fromFen("4K3/8/6k1/8/1p6/4Q3/1b2p3/4R1n1 w - -");
+        final SearchInfo pruned = searchToMate(board, true);
+        final SearchInfo fullWidth = searchToMate(board, false);
+
+        assertEquals(fullWidth.getPrincipalVariation().get(0), pruned.getPrincipalVariation().get(0));
+        assertEquals(fullWidth.getScore(), pruned.getScore());
+        assertEquals(5, pruned.getPrincipalVariation().size());
+    }
+
+    @Test
+    public void testTranspositionTableStoresAndReplaces() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long key = 0x9D39247E33776D41L;
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+
+        table.store(key, 1234567, -29_999_990, 12, TranspositionTable.BOUND_LOWER);
+        final long entry = table.probe(key);
+        assertEquals(1234567, TranspositionTable.move(entry));
+        assertEquals(-29_999_990, TranspositionTable.value(entry));
+        assertEquals(12, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.bound(entry));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(key ^ 1L << 40));
+
+        // a fail-low result without a best move keeps the earlier move
+        table.store(key, 0, 35, 3, TranspositionTable.BOUND_UPPER);
+        assertEquals(1234567, TranspositionTable.move(table.probe(key)));
+        assertEquals(35, TranspositionTable.value(table.probe(key)));
+
+        table.clear();
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+    }
+
+    // 1. f3 e5 2. g4, black to play Qh4 mate
+    private static SearchInfo searchToMate(final Board board, final boolean selectivePruning) {
+        final IterativeDeepening strategy = new IterativeDeepening(8, TimeControl.infinite(),
+                new TranspositionTable(1));
+        strategy.setSelectivePruning(selectivePruning);
+        final List<SearchInfo> searchInfos = new ArrayList<>();
+        strategy.addSearchListener(searchInfos::add);
+        strategy.execute(board);
+
+        final SearchInfo searchInfo = searchInfos.get(searchInfos.size() - 1);
+        Board currentBoard = board;
+        for (final Move move : searchInfo.getPrincipalVariation()) {
+            currentBoard = currentBoard.currentPlayer().makeMove(move).getTransitionBoard();
+        }
+        assertTrue(currentBoard.currentPlayer().isInCheckmate());
+        return searchInfo;
+    }
+
+    private static Board foolsMatePosition() {
+        Board board = Board.createStandardBoard();
+        for (final String[] move : new String[][] {{"f2", "f3"}, {"e7", "e5"}, {"g2", "g4"}}) {
+            final MoveTransition transition = board.currentPlayer().makeMove(Move.MoveFactory.createMove(board,
+                    BoardUtils.getCoordinateAtPosition(move[0]), BoardUtils.getCoordinateAtPosition(move[1])));
+            assertTrue(transition.getMoveStatus().isDone());
+            board = transition.getTransitionBoard();
+        }
+        return board;
+    }
+}